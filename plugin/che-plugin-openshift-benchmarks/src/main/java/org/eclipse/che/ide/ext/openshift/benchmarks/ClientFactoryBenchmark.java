@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.benchmarks;
+
+import com.openshift.restclient.IClient;
+
+import org.eclipse.che.api.auth.shared.dto.OAuthToken;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.HttpConnectionPool;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftMetrics;
+import org.eclipse.che.security.oauth.RemoteOAuthTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Measures lookup of openshift client for current user when many users send requests at the same time.
+ * Token provider does not perform remote calls, so only cost of {@link ClientFactory} caches is measured.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar ClientFactoryBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(16)
+@Fork(1)
+public class ClientFactoryBenchmark {
+    @Param({"10", "100", "1000"})
+    public int users;
+
+    private ClientFactory clientFactory;
+
+    @Setup
+    public void setUp() {
+        final OpenshiftMetrics metrics = new OpenshiftMetrics();
+        clientFactory = new ClientFactory("https://localhost:8443",
+                                          300,
+                                          600,
+                                          new LocalTokenProvider(),
+                                          new HttpConnectionPool(20, 10000, 10000, 3600, metrics),
+                                          metrics);
+    }
+
+    @Benchmark
+    public IClient getOpenshiftClient(SimulatedUsers simulatedUsers) throws UnauthorizedException, ServerException {
+        simulatedUsers.switchUser();
+        return clientFactory.getOpenshiftClient();
+    }
+
+    /** Switches subject of benchmark thread between simulated users */
+    @State(Scope.Thread)
+    public static class SimulatedUsers {
+        private Subject[] subjects;
+
+        @Setup
+        public void setUp(ClientFactoryBenchmark benchmark) {
+            subjects = new Subject[benchmark.users];
+            for (int i = 0; i < subjects.length; i++) {
+                subjects[i] = new SubjectImpl("user" + i, "user" + i, "che-token-" + i, false);
+            }
+        }
+
+        void switchUser() {
+            EnvironmentContext.getCurrent().setSubject(subjects[ThreadLocalRandom.current().nextInt(subjects.length)]);
+        }
+    }
+
+    /** Returns token of user without remote call to OAuth service */
+    private static class LocalTokenProvider extends RemoteOAuthTokenProvider {
+        LocalTokenProvider() {
+            super("http://localhost/api", null);
+        }
+
+        @Override
+        public OAuthToken getToken(String oauthProviderName, String userId) {
+            return newDto(OAuthToken.class).withToken("openshift-token-" + userId);
+        }
+    }
+}
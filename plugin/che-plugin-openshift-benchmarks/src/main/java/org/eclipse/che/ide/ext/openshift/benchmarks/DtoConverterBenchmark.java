@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.benchmarks;
+
+import com.openshift.restclient.ClientFactory;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.NoopSSLCertificateCallback;
+import com.openshift.restclient.model.IResource;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.server.DtoConverter;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
+import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures conversion of single openshift resource to DTO and back for different kinds and sizes of resources.
+ *
+ * <p>{@link #toDtoThroughJsonText()} is conversion through intermediate JSON text and is kept as a baseline for {@link #toDto()}.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar DtoConverterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DtoConverterBenchmark {
+    @Param({"Build", "DeploymentConfig", "Template", "ImageStream"})
+    public String kind;
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private IClient   client;
+    private IResource resource;
+    private Class<?>  dtoClass;
+    private Object    dto;
+
+    @Setup
+    public void setUp() {
+        client = new ClientFactory().create("https://localhost:8443", new NoopSSLCertificateCallback());
+        resource = client.getResourceFactory().create(Payloads.resource(kind, "app", size));
+        dtoClass = dtoClass(kind);
+        dto = DtoConverter.toDto(dtoClass, resource);
+    }
+
+    @Benchmark
+    public Object toDto() {
+        return DtoConverter.toDto(dtoClass, resource);
+    }
+
+    @Benchmark
+    public Object toDtoThroughJsonText() {
+        return DtoFactory.getInstance().createDtoFromJson(resource.toJson(true), dtoClass);
+    }
+
+    @Benchmark
+    public IResource toOpenshiftResource() throws UnauthorizedException, ServerException {
+        return DtoConverter.toOpenshiftResource(client, dto);
+    }
+
+    static Class<?> dtoClass(String kind) {
+        switch (kind) {
+            case "Build":
+                return Build.class;
+            case "DeploymentConfig":
+                return DeploymentConfig.class;
+            case "Template":
+                return Template.class;
+            case "ImageStream":
+                return ImageStream.class;
+            default:
+                throw new IllegalArgumentException("Unsupported kind " + kind);
+        }
+    }
+}
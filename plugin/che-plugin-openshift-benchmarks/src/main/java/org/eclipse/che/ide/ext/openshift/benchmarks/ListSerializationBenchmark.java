@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.openshift.restclient.ClientFactory;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.NoopSSLCertificateCallback;
+import com.openshift.restclient.model.IResource;
+
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.ide.ext.openshift.server.DtoConverter;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures work which list endpoints do after resources are received from openshift server:
+ * conversion of every resource to DTO and serialization of the whole list to JSON response.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar ListSerializationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ListSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    public int builds;
+
+    private List<IResource> resources;
+
+    @Setup
+    public void setUp() {
+        final IClient client = new ClientFactory().create("https://localhost:8443", new NoopSSLCertificateCallback());
+        resources = new ArrayList<>(builds);
+        for (int i = 0; i < builds; i++) {
+            resources.add(client.getResourceFactory().create(Payloads.build("app-" + i, 10).toString()));
+        }
+    }
+
+    @Benchmark
+    public List<Build> convert() {
+        return resources.stream()
+                        .map(resource -> DtoConverter.toDto(Build.class, resource))
+                        .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public String convertAndSerialize() {
+        final JsonArray response = new JsonArray();
+        for (IResource resource : resources) {
+            response.add(((JsonSerializable)DtoConverter.toDto(Build.class, resource)).toJsonElement());
+        }
+        return response.toString();
+    }
+}
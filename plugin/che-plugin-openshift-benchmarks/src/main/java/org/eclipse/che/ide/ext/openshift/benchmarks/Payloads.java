@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Generates JSON of openshift resources which look like resources returned by openshift server.
+ *
+ * <p>Size of resource defines number of environment variables, labels, annotations,
+ * template objects, image stream tags etc., so resources of the same kind may be compared by size.
+ */
+final class Payloads {
+    static final String NAMESPACE = "benchmark";
+
+    /** Returns JSON of resource of the given kind, kind is one of Build, DeploymentConfig, Template, ImageStream */
+    static String resource(String kind, String name, int size) {
+        switch (kind) {
+            case "Build":
+                return build(name, size).toString();
+            case "DeploymentConfig":
+                return deploymentConfig(name, size).toString();
+            case "Template":
+                return template(name, size).toString();
+            case "ImageStream":
+                return imageStream(name, size).toString();
+            default:
+                throw new IllegalArgumentException("Unsupported kind " + kind);
+        }
+    }
+
+    static JsonObject build(String name, int size) {
+        final JsonObject git = new JsonObject();
+        git.addProperty("uri", "https://github.com/codenvy-templates/" + name + ".git");
+        git.addProperty("ref", "master");
+        final JsonObject source = new JsonObject();
+        source.addProperty("type", "Git");
+        source.add("git", git);
+
+        final JsonObject sourceStrategy = new JsonObject();
+        sourceStrategy.add("from", reference("ImageStreamTag", "openshift", "wildfly:10.1"));
+        sourceStrategy.add("env", env(size));
+        final JsonObject strategy = new JsonObject();
+        strategy.addProperty("type", "Source");
+        strategy.add("sourceStrategy", sourceStrategy);
+
+        final JsonObject output = new JsonObject();
+        output.add("to", reference("ImageStreamTag", null, name + ":latest"));
+
+        final JsonObject spec = new JsonObject();
+        spec.addProperty("serviceAccount", "builder");
+        spec.add("source", source);
+        spec.add("strategy", strategy);
+        spec.add("output", output);
+        spec.add("resources", new JsonObject());
+
+        final JsonObject status = new JsonObject();
+        status.addProperty("phase", "Complete");
+        status.addProperty("startTimestamp", "2017-06-01T10:15:30Z");
+        status.addProperty("completionTimestamp", "2017-06-01T10:18:02Z");
+        status.addProperty("duration", 152000000000L);
+        status.addProperty("outputDockerImageReference", "172.30.1.1:5000/" + NAMESPACE + "/" + name + ":latest");
+        status.add("config", reference("BuildConfig", NAMESPACE, name));
+
+        return resource("Build", name, size, spec, status);
+    }
+
+    static JsonObject deploymentConfig(String name, int size) {
+        final JsonObject port = new JsonObject();
+        port.addProperty("containerPort", 8080);
+        port.addProperty("protocol", "TCP");
+        final JsonArray ports = new JsonArray();
+        ports.add(port);
+
+        final JsonObject container = new JsonObject();
+        container.addProperty("name", name);
+        container.addProperty("image", "172.30.1.1:5000/" + NAMESPACE + "/" + name + "@sha256:" + digest(name));
+        container.add("ports", ports);
+        container.add("env", env(size));
+        container.add("resources", new JsonObject());
+        container.addProperty("terminationMessagePath", "/dev/termination-log");
+        container.addProperty("imagePullPolicy", "Always");
+        final JsonArray containers = new JsonArray();
+        containers.add(container);
+
+        final JsonObject podSpec = new JsonObject();
+        podSpec.add("containers", containers);
+        podSpec.addProperty("restartPolicy", "Always");
+        podSpec.addProperty("terminationGracePeriodSeconds", 30);
+        podSpec.addProperty("dnsPolicy", "ClusterFirst");
+        podSpec.add("securityContext", new JsonObject());
+
+        final JsonObject templateMetadata = new JsonObject();
+        templateMetadata.add("labels", labels(name, size));
+        final JsonObject template = new JsonObject();
+        template.add("metadata", templateMetadata);
+        template.add("spec", podSpec);
+
+        final JsonObject imageChangeParams = new JsonObject();
+        imageChangeParams.addProperty("automatic", true);
+        final JsonArray containerNames = new JsonArray();
+        containerNames.add(name);
+        imageChangeParams.add("containerNames", containerNames);
+        imageChangeParams.add("from", reference("ImageStreamTag", null, name + ":latest"));
+        final JsonObject imageChangeTrigger = new JsonObject();
+        imageChangeTrigger.addProperty("type", "ImageChange");
+        imageChangeTrigger.add("imageChangeParams", imageChangeParams);
+        final JsonObject configChangeTrigger = new JsonObject();
+        configChangeTrigger.addProperty("type", "ConfigChange");
+        final JsonArray triggers = new JsonArray();
+        triggers.add(imageChangeTrigger);
+        triggers.add(configChangeTrigger);
+
+        final JsonObject strategy = new JsonObject();
+        strategy.addProperty("type", "Rolling");
+        strategy.add("resources", new JsonObject());
+
+        final JsonObject selector = new JsonObject();
+        selector.addProperty("deploymentConfig", name);
+        final JsonObject spec = new JsonObject();
+        spec.add("strategy", strategy);
+        spec.add("triggers", triggers);
+        spec.addProperty("replicas", 1);
+        spec.add("selector", selector);
+        spec.add("template", template);
+
+        final JsonObject status = new JsonObject();
+        status.addProperty("latestVersion", size);
+
+        return resource("DeploymentConfig", name, size, spec, status);
+    }
+
+    static JsonObject template(String name, int size) {
+        final JsonArray objects = new JsonArray();
+        final JsonArray parameters = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            final String objectName = name + "-" + i;
+            switch (i % 3) {
+                case 0:
+                    objects.add(deploymentConfig(objectName, 2));
+                    break;
+                case 1:
+                    objects.add(build(objectName, 2));
+                    break;
+                default:
+                    objects.add(imageStream(objectName, 2));
+            }
+
+            final JsonObject parameter = new JsonObject();
+            parameter.addProperty("name", "PARAMETER_" + i);
+            parameter.addProperty("displayName", "Parameter " + i);
+            parameter.addProperty("description", "Value of parameter " + i + " of template " + name);
+            parameter.addProperty("value", "value-" + i);
+            parameter.addProperty("required", i % 2 == 0);
+            parameters.add(parameter);
+        }
+
+        final JsonObject template = new JsonObject();
+        template.addProperty("kind", "Template");
+        template.addProperty("apiVersion", "v1");
+        template.add("metadata", metadata(name, size));
+        template.add("objects", objects);
+        template.add("parameters", parameters);
+        template.add("labels", labels(name, 1));
+        return template;
+    }
+
+    static JsonObject imageStream(String name, int size) {
+        final JsonArray tags = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            final JsonObject event = new JsonObject();
+            event.addProperty("created", "2017-06-01T10:18:02Z");
+            event.addProperty("dockerImageReference", "172.30.1.1:5000/" + NAMESPACE + "/" + name + "@sha256:" + digest(name + i));
+            event.addProperty("image", "sha256:" + digest(name + i));
+            final JsonArray items = new JsonArray();
+            items.add(event);
+            final JsonObject tag = new JsonObject();
+            tag.addProperty("tag", i == 0 ? "latest" : "1." + i);
+            tag.add("items", items);
+            tags.add(tag);
+        }
+
+        final JsonObject spec = new JsonObject();
+        spec.add("tags", new JsonArray());
+        final JsonObject status = new JsonObject();
+        status.addProperty("dockerImageRepository", "172.30.1.1:5000/" + NAMESPACE + "/" + name);
+        status.add("tags", tags);
+
+        return resource("ImageStream", name, size, spec, status);
+    }
+
+    private static JsonObject resource(String kind, String name, int size, JsonObject spec, JsonObject status) {
+        final JsonObject resource = new JsonObject();
+        resource.addProperty("kind", kind);
+        resource.addProperty("apiVersion", "v1");
+        resource.add("metadata", metadata(name, size));
+        resource.add("spec", spec);
+        resource.add("status", status);
+        return resource;
+    }
+
+    private static JsonObject metadata(String name, int size) {
+        final JsonObject annotations = new JsonObject();
+        for (int i = 0; i < size; i++) {
+            annotations.addProperty("openshift.io/annotation-" + i, "annotation value " + i + " of " + name);
+        }
+        final JsonObject metadata = new JsonObject();
+        metadata.addProperty("name", name);
+        metadata.addProperty("namespace", NAMESPACE);
+        metadata.addProperty("selfLink", "/oapi/v1/namespaces/" + NAMESPACE + "/" + name);
+        metadata.addProperty("uid", digest(name).substring(0, 36));
+        metadata.addProperty("resourceVersion", String.valueOf(Math.abs(name.hashCode())));
+        metadata.addProperty("creationTimestamp", "2017-06-01T10:15:30Z");
+        metadata.add("labels", labels(name, size));
+        metadata.add("annotations", annotations);
+        return metadata;
+    }
+
+    private static JsonObject labels(String name, int size) {
+        final JsonObject labels = new JsonObject();
+        labels.addProperty("application", name);
+        for (int i = 0; i < size; i++) {
+            labels.addProperty("label-" + i, "value-" + i);
+        }
+        return labels;
+    }
+
+    private static JsonArray env(int size) {
+        final JsonArray env = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            final JsonObject variable = new JsonObject();
+            variable.addProperty("name", "ENVIRONMENT_VARIABLE_" + i);
+            variable.addProperty("value", "value of environment variable " + i);
+            env.add(variable);
+        }
+        return env;
+    }
+
+    private static JsonObject reference(String kind, String namespace, String name) {
+        final JsonObject reference = new JsonObject();
+        reference.addProperty("kind", kind);
+        if (namespace != null) {
+            reference.addProperty("namespace", namespace);
+        }
+        reference.addProperty("name", name);
+        return reference;
+    }
+
+    private static String digest(String seed) {
+        final StringBuilder digest = new StringBuilder();
+        int hash = seed.hashCode();
+        while (digest.length() < 64) {
+            hash = hash * 31 + 17;
+            digest.append(Integer.toHexString(hash & 0xffff | 0x10000).substring(1));
+        }
+        return digest.substring(0, 64);
+    }
+
+    private Payloads() {
+    }
+}
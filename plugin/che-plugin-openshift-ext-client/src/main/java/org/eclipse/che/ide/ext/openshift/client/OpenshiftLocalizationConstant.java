@@ -235,6 +235,12 @@ public interface OpenshiftLocalizationConstant extends Messages {
     @Key("build.status.failed")
     String buildStatusFailed(String buildName);
 
+    @Key("build.status.deleted")
+    String buildStatusDeleted(String buildName);
+
+    @Key("build.status.untracked")
+    String buildStatusUntracked(String buildName);
+
     @Key("failed.to.retrieve.token.message")
     String failedToRetrieveTokenMessage(String buildName);
 
@@ -304,6 +310,9 @@ public interface OpenshiftLocalizationConstant extends Messages {
     @Key("deploy.project.success")
     String deployProjectSuccess(String project);
 
+    @Key("deploy.project.object.exists")
+    String deployProjectObjectExists(String kind, String name, String namespace);
+
     @Key("invalid.project.name.error")
     String invalidProjectNameError();
 
@@ -331,6 +340,9 @@ public interface OpenshiftLocalizationConstant extends Messages {
     @Key("existing.application.name.error")
     String existingApplicationNameError();
 
+    @Key("applications.list.error")
+    String applicationsListError();
+
     @Key("add.service.description")
     String addServiceActionDescription();
 
@@ -402,16 +414,4 @@ public interface OpenshiftLocalizationConstant extends Messages {
 
     @Key("project.is.not.linked.to.openshift.error")
     String projectIsNotLinkedToOpenShiftError(String projectName);
-
-    @Key("buildconfig.has.invalid.output.error")
-    String buildConfigHasInvalidOutputError();
-
-    @Key("buildconfig.has.invalid.tag.name.error")
-    String buildConfigHasInvalidTagName(String tagName);
-
-    @Key("imagestream.has.invalid.tag.error")
-    String imageSteamHasInvalidTagError(String imageStreamName, String tagName);
-
-    @Key("imagestream.does.not.have.tag.error")
-    String imageStreamDoesNotHaveAnyTag(String imageStreamName, String tagName);
 }
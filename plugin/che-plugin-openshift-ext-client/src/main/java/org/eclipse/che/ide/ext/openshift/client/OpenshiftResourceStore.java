@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.client;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.json.client.JSONString;
+import com.google.gwt.json.client.JSONValue;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.api.promises.client.Function;
+import org.eclipse.che.api.promises.client.FunctionException;
+import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.api.promises.client.PromiseError;
+import org.eclipse.che.api.promises.client.PromiseProvider;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.client.oauth.OAuthTokenChangedEvent;
+import org.eclipse.che.ide.ext.openshift.client.oauth.OAuthTokenChangedHandler;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Project;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ProjectRequest;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ReplicationController;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client side store of openshift objects shared by all presenters.
+ *
+ * Objects are kept once per namespace, kind and name, cached lists refer to them, so object changed by update
+ * or by build watch is seen in all lists. Cached lists are served during {@link #LIST_TTL_MS}, concurrent requests
+ * of the same list share one request to workspace agent. Lists requested before invalidation or clearing of the store
+ * are returned to their callers but are not stored. Returned objects are copies, so presenters may change them.
+ * Store is cleared when openshift access token is changed.
+ */
+@Singleton
+public class OpenshiftResourceStore implements OAuthTokenChangedHandler {
+
+    /** Time during which cached lists are served without requesting workspace agent */
+    private static final int LIST_TTL_MS = 30 * 1000;
+
+    private static final String PROJECT                = "Project";
+    private static final String BUILD_CONFIG           = "BuildConfig";
+    private static final String BUILD                  = "Build";
+    private static final String IMAGE_STREAM           = "ImageStream";
+    private static final String DEPLOYMENT_CONFIG      = "DeploymentConfig";
+    private static final String ROUTE                  = "Route";
+    private static final String SERVICE                = "Service";
+    private static final String REPLICATION_CONTROLLER = "ReplicationController";
+
+    private final OpenshiftServiceClient service;
+    private final DtoFactory             dtoFactory;
+    private final PromiseProvider        promises;
+
+    /** JSON of objects. Use `namespace` + `/` + `kind` + `/` + `name` for key */
+    private final Map<String, String> objects = new HashMap<>();
+
+    /** Cached lists of object keys. Use `namespace` + `/` + `kind` + `?` + `application` for key */
+    private final Map<String, CachedList> lists = new HashMap<>();
+
+    /** Requests of lists which are in progress, dropped when the lists are invalidated */
+    private final Map<String, PendingList> pendingLists = new HashMap<>();
+
+    /** Generation of the last list request, identifies pending request which may store its result */
+    private int generation;
+
+    @Inject
+    public OpenshiftResourceStore(OpenshiftServiceClient service, DtoFactory dtoFactory, PromiseProvider promises, EventBus eventBus) {
+        this.service = service;
+        this.dtoFactory = dtoFactory;
+        this.promises = promises;
+
+        eventBus.addHandler(OAuthTokenChangedEvent.TYPE, this);
+    }
+
+    @Override
+    public void onOAuthTokenChanged(OAuthTokenChangedEvent event) {
+        clear();
+    }
+
+    /** Projects */
+
+    public Promise<List<Project>> getProjects() {
+        return getList(null, PROJECT, null, Project.class, new Loader<Project>() {
+            @Override
+            public Promise<List<Project>> load() {
+                return service.getProjects();
+            }
+        });
+    }
+
+    public Promise<Project> createProject(ProjectRequest request) {
+        return created(PROJECT, service.createProject(request));
+    }
+
+    public Promise<Void> deleteProject(final String project) {
+        return service.deleteProject(project).then(new Function<Void, Void>() {
+            @Override
+            public Void apply(Void arg) throws FunctionException {
+                invalidate(project);
+                invalidate(null, PROJECT);
+                return null;
+            }
+        });
+    }
+
+    /** BuildConfigs */
+
+    public Promise<List<BuildConfig>> getBuildConfigs(final String namespace) {
+        return getList(namespace, BUILD_CONFIG, null, BuildConfig.class, new Loader<BuildConfig>() {
+            @Override
+            public Promise<List<BuildConfig>> load() {
+                return service.getBuildConfigs(namespace);
+            }
+        });
+    }
+
+    public Promise<List<BuildConfig>> getBuildConfigs(final String namespace, final String application) {
+        return getList(namespace, BUILD_CONFIG, application, BuildConfig.class, new Loader<BuildConfig>() {
+            @Override
+            public Promise<List<BuildConfig>> load() {
+                return service.getBuildConfigs(namespace, application);
+            }
+        });
+    }
+
+    public Promise<BuildConfig> updateBuildConfig(BuildConfig config) {
+        return updated(BUILD_CONFIG, service.updateBuildConfig(config));
+    }
+
+    /** Builds */
+
+    public Promise<List<Build>> getBuilds(final String namespace, final String application) {
+        return getList(namespace, BUILD, application, Build.class, new Loader<Build>() {
+            @Override
+            public Promise<List<Build>> load() {
+                return service.getBuilds(namespace, application);
+            }
+        });
+    }
+
+    /**
+     * Applies change of build received from build watch.
+     *
+     * @param added
+     *         whether the build is new, lists of builds are requested again to include it
+     */
+    public void onBuildChanged(Build build, boolean added) {
+        String key = put(BUILD, dtoFactory.toJson(build));
+        if (added) {
+            invalidate(getNamespace(key), BUILD);
+        }
+    }
+
+    /**
+     * Drops build deleted from openshift, lists of builds which refer to it no longer return it.
+     */
+    public void onBuildDeleted(Build build) {
+        objects.remove(build.getMetadata().getNamespace() + "/" + BUILD + "/" + build.getMetadata().getName());
+        // list requested before deletion would store the build again
+        removeByPrefix(pendingLists, build.getMetadata().getNamespace() + "/" + BUILD + "?");
+    }
+
+    /** ImageStreams */
+
+    public Promise<List<ImageStream>> getImageStreams(final String namespace, final String application) {
+        return getList(namespace, IMAGE_STREAM, application, ImageStream.class, new Loader<ImageStream>() {
+            @Override
+            public Promise<List<ImageStream>> load() {
+                return service.getImageStreams(namespace, application);
+            }
+        });
+    }
+
+    public Promise<ImageStream> updateImageStream(ImageStream imageStream) {
+        return updated(IMAGE_STREAM, service.updateImageStream(imageStream));
+    }
+
+    /** DeploymentConfigs */
+
+    public Promise<List<DeploymentConfig>> getDeploymentConfigs(final String namespace, final String application) {
+        return getList(namespace, DEPLOYMENT_CONFIG, application, DeploymentConfig.class, new Loader<DeploymentConfig>() {
+            @Override
+            public Promise<List<DeploymentConfig>> load() {
+                return service.getDeploymentConfigs(namespace, application);
+            }
+        });
+    }
+
+    public Promise<DeploymentConfig> createDeploymentConfig(DeploymentConfig config) {
+        return created(DEPLOYMENT_CONFIG, service.createDeploymentConfig(config));
+    }
+
+    public Promise<DeploymentConfig> updateDeploymentConfig(DeploymentConfig config) {
+        return updated(DEPLOYMENT_CONFIG, service.updateDeploymentConfig(config));
+    }
+
+    /** Routes */
+
+    public Promise<List<Route>> getRoutes(final String namespace, final String application) {
+        return getList(namespace, ROUTE, application, Route.class, new Loader<Route>() {
+            @Override
+            public Promise<List<Route>> load() {
+                return service.getRoutes(namespace, application);
+            }
+        });
+    }
+
+    public Promise<Route> updateRoute(Route route) {
+        return updated(ROUTE, service.updateRoute(route));
+    }
+
+    /** Services */
+
+    public Promise<List<Service>> getServices(final String namespace, final String application) {
+        return getList(namespace, SERVICE, application, Service.class, new Loader<Service>() {
+            @Override
+            public Promise<List<Service>> load() {
+                return service.getServices(namespace, application);
+            }
+        });
+    }
+
+    public Promise<Service> createService(Service object) {
+        return created(SERVICE, service.createService(object));
+    }
+
+    public Promise<Service> updateService(Service object) {
+        return updated(SERVICE, service.updateService(object));
+    }
+
+    /** ReplicationControllers */
+
+    public Promise<List<ReplicationController>> getReplicationControllers(final String namespace, final String application) {
+        return getList(namespace, REPLICATION_CONTROLLER, application, ReplicationController.class, new Loader<ReplicationController>() {
+            @Override
+            public Promise<List<ReplicationController>> load() {
+                return service.getReplicationControllers(namespace, application);
+            }
+        });
+    }
+
+    public Promise<ReplicationController> updateReplicationController(ReplicationController controller) {
+        return updated(REPLICATION_CONTROLLER, service.updateReplicationController(controller));
+    }
+
+    public Promise<ReplicationController> scaleReplicationController(String namespace, String name, int replicas) {
+        return updated(REPLICATION_CONTROLLER, service.scaleReplicationController(namespace, name, replicas));
+    }
+
+    /**
+     * Drops all cached objects and lists of namespace, e.g. when objects were changed bypassing the store.
+     *
+     * @param namespace
+     *         namespace
+     */
+    public void invalidate(String namespace) {
+        String prefix = namespace + "/";
+        removeByPrefix(objects, prefix);
+        removeByPrefix(lists, prefix);
+        removeByPrefix(pendingLists, prefix);
+    }
+
+    /**
+     * Drops all cached objects and lists.
+     */
+    public void clear() {
+        objects.clear();
+        lists.clear();
+        pendingLists.clear();
+    }
+
+    private <T> Promise<List<T>> getList(final String namespace,
+                                         final String kind,
+                                         final String application,
+                                         final Class<T> type,
+                                         final Loader<T> loader) {
+        final String listKey = namespace + "/" + kind + "?" + (application == null ? "" : application);
+
+        CachedList cached = lists.get(listKey);
+        if (cached != null && Duration.currentTimeMillis() - cached.loadedAt < LIST_TTL_MS) {
+            return promises.resolve(toDtos(cached.keys, type));
+        }
+
+        PendingList pending = pendingLists.get(listKey);
+        if (pending == null) {
+            final int requestGeneration = ++generation;
+            Promise<List<String>> request = loader.load().then(new Function<List<T>, List<String>>() {
+                @Override
+                public List<String> apply(List<T> loaded) throws FunctionException {
+                    List<String> jsons = new ArrayList<>(loaded.size());
+                    for (T object : loaded) {
+                        jsons.add(dtoFactory.toJson(object));
+                    }
+                    // list invalidated while it was requested may miss created objects or contain deleted ones
+                    if (removePending(listKey, requestGeneration)) {
+                        List<String> keys = new ArrayList<>(jsons.size());
+                        for (String json : jsons) {
+                            keys.add(put(kind, json));
+                        }
+                        lists.put(listKey, new CachedList(keys, Duration.currentTimeMillis()));
+                    }
+                    return jsons;
+                }
+            }).catchErrorPromise(new Function<PromiseError, Promise<List<String>>>() {
+                @Override
+                public Promise<List<String>> apply(PromiseError error) throws FunctionException {
+                    removePending(listKey, requestGeneration);
+                    return promises.reject(error);
+                }
+            });
+            pending = new PendingList(request, requestGeneration);
+            pendingLists.put(listKey, pending);
+        }
+
+        return pending.jsons.then(new Function<List<String>, List<T>>() {
+            @Override
+            public List<T> apply(List<String> jsons) throws FunctionException {
+                List<T> result = new ArrayList<>(jsons.size());
+                for (String json : jsons) {
+                    result.add(dtoFactory.createDtoFromJson(json, type));
+                }
+                return result;
+            }
+        });
+    }
+
+    /** Removes pending list request unless it was already dropped, returns whether it was removed */
+    private boolean removePending(String listKey, int requestGeneration) {
+        PendingList pending = pendingLists.get(listKey);
+        if (pending == null || pending.generation != requestGeneration) {
+            return false;
+        }
+        pendingLists.remove(listKey);
+        return true;
+    }
+
+    /** Stores object returned by create request, lists of its kind are requested again to include it */
+    private <T> Promise<T> created(final String kind, Promise<T> request) {
+        return request.then(new Function<T, T>() {
+            @Override
+            public T apply(T object) throws FunctionException {
+                String key = put(kind, dtoFactory.toJson(object));
+                invalidate(getNamespace(key), kind);
+                return object;
+            }
+        });
+    }
+
+    /** Stores object returned by update request */
+    private <T> Promise<T> updated(final String kind, Promise<T> request) {
+        return request.then(new Function<T, T>() {
+            @Override
+            public T apply(T object) throws FunctionException {
+                put(kind, dtoFactory.toJson(object));
+                return object;
+            }
+        });
+    }
+
+    private void invalidate(String namespace, String kind) {
+        removeByPrefix(lists, namespace + "/" + kind + "?");
+        removeByPrefix(pendingLists, namespace + "/" + kind + "?");
+    }
+
+    private String put(String kind, String json) {
+        String key = getKey(kind, json);
+        objects.put(key, json);
+        return key;
+    }
+
+    private <T> List<T> toDtos(List<String> keys, Class<T> type) {
+        List<T> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            String json = objects.get(key);
+            if (json != null) {
+                result.add(dtoFactory.createDtoFromJson(json, type));
+            }
+        }
+        return result;
+    }
+
+    private static String getKey(String kind, String json) {
+        JSONValue metadata = JSONParser.parseStrict(json).isObject().get("metadata");
+        JSONObject meta = metadata == null ? null : metadata.isObject();
+        String namespace = PROJECT.equals(kind) ? null : getString(meta, "namespace");
+        return namespace + "/" + kind + "/" + getString(meta, "name");
+    }
+
+    private static String getNamespace(String key) {
+        String namespace = key.substring(0, key.indexOf('/'));
+        return "null".equals(namespace) ? null : namespace;
+    }
+
+    private static String getString(JSONObject object, String property) {
+        JSONValue value = object == null ? null : object.get(property);
+        JSONString string = value == null ? null : value.isString();
+        return string == null ? null : string.stringValue();
+    }
+
+    private static void removeByPrefix(Map<String, ?> map, String prefix) {
+        for (Iterator<String> iterator = map.keySet().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().startsWith(prefix)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private interface Loader<T> {
+        Promise<List<T>> load();
+    }
+
+    private static class PendingList {
+        private final Promise<List<String>> jsons;
+        private final int                   generation;
+
+        PendingList(Promise<List<String>> jsons, int generation) {
+            this.jsons = jsons;
+            this.generation = generation;
+        }
+    }
+
+    private static class CachedList {
+        private final List<String> keys;
+        private final double       loadedAt;
+
+        CachedList(List<String> keys, double loadedAt) {
+            this.keys = keys;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
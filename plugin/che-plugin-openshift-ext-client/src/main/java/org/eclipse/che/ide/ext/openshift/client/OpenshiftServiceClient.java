@@ -11,18 +11,24 @@
 package org.eclipse.che.ide.ext.openshift.client;
 
 import org.eclipse.che.api.promises.client.Promise;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BatchItemStatus;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BuildLog;
 import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStreamTag;
+import org.eclipse.che.ide.ext.openshift.shared.dto.NamespaceApplications;
+import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftApplication;
 import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftServerInfo;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Project;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ProjectRequest;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ReplicationController;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ResourceBatch;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
+import org.eclipse.che.ide.ext.openshift.shared.dto.WatchChannel;
 import org.eclipse.che.ide.ext.openshift.shared.dto.WebHook;
 
 import java.util.List;
@@ -59,10 +65,16 @@ public interface OpenshiftServiceClient {
 
     Promise<List<WebHook>> getWebhooks(String namespace, String buildConfig);
 
+    Promise<WatchChannel> watchBuilds(String namespace);
+
     Promise<List<Build>> getBuilds(String namespace, String application);
 
     Promise<Build> startBuild(String namespace, String buildConfig);
 
+    Promise<BuildLog> getBuildLog(String namespace, String build, long from);
+
+    Promise<BuildLog> getBuildLog(String namespace, String build, long from, int limit);
+
     /** ImageStreams */
 
     Promise<ImageStream> createImageStream(ImageStream stream);
@@ -75,6 +87,9 @@ public interface OpenshiftServiceClient {
 
     Promise<ImageStreamTag> getImageStreamTag(String namespace, String imageStream, String tag);
 
+    /** Returns image stream tags with given names in format {@code stream:tag}, tags which don't exist are skipped */
+    Promise<List<ImageStreamTag>> getImageStreamTags(String namespace, List<String> names);
+
     /** DeploymentConfigs */
 
     Promise<DeploymentConfig> createDeploymentConfig(DeploymentConfig config);
@@ -101,5 +116,18 @@ public interface OpenshiftServiceClient {
 
     Promise<ReplicationController> updateReplicationController(ReplicationController controller);
 
+    /** Sets desired number of replicas, server applies it to the latest version of replication controller */
+    Promise<ReplicationController> scaleReplicationController(String namespace, String name, int replicas);
+
     Promise<List<Service>> getServices(String namespace, String application);
+
+    /** Applications */
+
+    Promise<List<NamespaceApplications>> getApplications();
+
+    Promise<OpenshiftApplication> getApplication(String namespace, String buildConfig);
+
+    /** Batches */
+
+    Promise<List<BatchItemStatus>> createResources(String namespace, ResourceBatch batch);
 }
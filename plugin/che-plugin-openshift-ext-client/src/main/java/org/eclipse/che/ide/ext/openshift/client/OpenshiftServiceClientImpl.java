@@ -10,21 +10,29 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.client;
 
+import com.google.gwt.http.client.URL;
+
 import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.ide.MimeType;
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BatchItemStatus;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BuildLog;
 import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStreamTag;
+import org.eclipse.che.ide.ext.openshift.shared.dto.NamespaceApplications;
+import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftApplication;
 import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftServerInfo;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Project;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ProjectRequest;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ReplicationController;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ResourceBatch;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
+import org.eclipse.che.ide.ext.openshift.shared.dto.WatchChannel;
 import org.eclipse.che.ide.ext.openshift.shared.dto.WebHook;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
@@ -203,6 +211,18 @@ public class OpenshiftServiceClientImpl implements OpenshiftServiceClient {
                                   .send(dtoUnmarshaller.newUnmarshaller(ImageStreamTag.class));
     }
 
+    @Override
+    public Promise<List<ImageStreamTag>> getImageStreamTags(final String namespace, final List<String> names) {
+        final StringBuilder url = new StringBuilder(openshiftPath()).append("/namespace/").append(namespace).append("/imagestreamtag");
+        for (int i = 0; i < names.size(); i++) {
+            url.append(i == 0 ? '?' : '&').append("name=").append(URL.encodeQueryString(names.get(i)));
+        }
+        return asyncRequestFactory.createGetRequest(url.toString())
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .loader(loaderFactory.newLoader("Getting image stream tags..."))
+                                  .send(dtoUnmarshaller.newListUnmarshaller(ImageStreamTag.class));
+    }
+
     @Override
     public Promise<DeploymentConfig> createDeploymentConfig(final DeploymentConfig config) {
         String url = openshiftPath() + "/namespace/" + config.getMetadata().getNamespace() + "/deploymentconfig";
@@ -287,6 +307,13 @@ public class OpenshiftServiceClientImpl implements OpenshiftServiceClient {
                                   .send(dtoUnmarshaller.newListUnmarshaller(Route.class));
     }
 
+    @Override
+    public Promise<WatchChannel> watchBuilds(final String namespace) {
+        return asyncRequestFactory.createPostRequest(openshiftPath() + "/namespace/" + namespace + "/watch/build", null)
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .send(dtoUnmarshaller.newUnmarshaller(WatchChannel.class));
+    }
+
     @Override
     public Promise<List<Build>> getBuilds(final String namespace, final String application) {
         String url = openshiftPath() + "/namespace/" + namespace + "/build";
@@ -310,6 +337,22 @@ public class OpenshiftServiceClientImpl implements OpenshiftServiceClient {
 
     }
 
+    @Override
+    public Promise<BuildLog> getBuildLog(final String namespace, final String build, final long from) {
+        String url = openshiftPath() + "/namespace/" + namespace + "/build/" + build + "/log?from=" + from;
+        return asyncRequestFactory.createGetRequest(url)
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .send(dtoUnmarshaller.newUnmarshaller(BuildLog.class));
+    }
+
+    @Override
+    public Promise<BuildLog> getBuildLog(final String namespace, final String build, final long from, final int limit) {
+        String url = openshiftPath() + "/namespace/" + namespace + "/build/" + build + "/log?from=" + from + "&limit=" + limit;
+        return asyncRequestFactory.createGetRequest(url)
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .send(dtoUnmarshaller.newUnmarshaller(BuildLog.class));
+    }
+
     @Override
     public Promise<List<ReplicationController>> getReplicationControllers(final String namespace, final String application) {
         String url = openshiftPath() + "/namespace/" + namespace + "/replicationcontroller";
@@ -333,6 +376,15 @@ public class OpenshiftServiceClientImpl implements OpenshiftServiceClient {
                                   .send(dtoUnmarshaller.newUnmarshaller(ReplicationController.class));
     }
 
+    @Override
+    public Promise<ReplicationController> scaleReplicationController(final String namespace, final String name, final int replicas) {
+        final String url = openshiftPath() + "/namespace/" + namespace + "/replicationcontroller/" + name + "/scale?replicas=" + replicas;
+        return asyncRequestFactory.createRequest(PUT, url, null, false)
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .loader(loaderFactory.newLoader("Scaling application..."))
+                                  .send(dtoUnmarshaller.newUnmarshaller(ReplicationController.class));
+    }
+
     @Override
     public Promise<List<Service>> getServices(final String namespace, final String application) {
         String url = openshiftPath() + "/namespace/" + namespace + "/service";
@@ -345,4 +397,30 @@ public class OpenshiftServiceClientImpl implements OpenshiftServiceClient {
                                   .loader(loaderFactory.newLoader("Getting services..."))
                                   .send(dtoUnmarshaller.newListUnmarshaller(Service.class));
     }
+
+    @Override
+    public Promise<List<NamespaceApplications>> getApplications() {
+        return asyncRequestFactory.createGetRequest(openshiftPath() + "/application")
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .loader(loaderFactory.newLoader("Getting applications..."))
+                                  .send(dtoUnmarshaller.newListUnmarshaller(NamespaceApplications.class));
+    }
+
+    @Override
+    public Promise<OpenshiftApplication> getApplication(final String namespace, final String buildConfig) {
+        final String url = openshiftPath() + "/namespace/" + namespace + "/application/" + buildConfig;
+        return asyncRequestFactory.createGetRequest(url)
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .loader(loaderFactory.newLoader("Getting application..."))
+                                  .send(dtoUnmarshaller.newUnmarshaller(OpenshiftApplication.class));
+    }
+
+    @Override
+    public Promise<List<BatchItemStatus>> createResources(final String namespace, final ResourceBatch batch) {
+        return asyncRequestFactory.createPostRequest(openshiftPath() + "/namespace/" + namespace + "/batch", batch)
+                                  .header(CONTENT_TYPE, MimeType.APPLICATION_JSON)
+                                  .header(ACCEPT, MimeType.APPLICATION_JSON)
+                                  .loader(loaderFactory.newLoader("Creating OpenShift objects..."))
+                                  .send(dtoUnmarshaller.newListUnmarshaller(BatchItemStatus.class));
+    }
 }
@@ -10,13 +10,16 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.client.build;
 
-import com.google.gwt.user.client.rpc.AsyncCallback;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.web.bindery.event.shared.EventBus;
 
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.notification.StatusNotification;
@@ -26,25 +29,30 @@ import org.eclipse.che.ide.api.parts.base.BasePresenter;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
-import org.eclipse.che.ide.ext.openshift.client.OpenshiftWebSocketPathProvider;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
 import org.eclipse.che.ide.ext.openshift.client.dto.BuildChangeEvent;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OAuthTokenChangedEvent;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OAuthTokenChangedHandler;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BuildLog;
+import org.eclipse.che.ide.ext.openshift.shared.dto.WatchChannel;
 import org.eclipse.che.ide.util.loging.Log;
-import org.eclipse.che.ide.websocket.WebSocket;
-import org.eclipse.che.ide.websocket.events.ConnectionErrorHandler;
-import org.eclipse.che.ide.websocket.events.ConnectionOpenedHandler;
-import org.eclipse.che.ide.websocket.events.MessageReceivedEvent;
-import org.eclipse.che.ide.websocket.events.MessageReceivedHandler;
+import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.StringUnmarshallerWS;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.eclipse.che.ide.api.notification.StatusNotification.DisplayMode.FLOAT_MODE;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.PROGRESS;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.SUCCESS;
+import static org.eclipse.che.ide.api.notification.StatusNotification.Status.WARNING;
 import static org.eclipse.che.ide.ext.openshift.shared.OpenshiftProjectTypeConstants.OPENSHIFT_NAMESPACE_VARIABLE_NAME;
 import static org.eclipse.che.ide.ext.openshift.shared.dto.BuildStatus.Phase.Complete;
 import static org.eclipse.che.ide.ext.openshift.shared.dto.BuildStatus.Phase.Failed;
@@ -55,7 +63,7 @@ import static org.eclipse.che.ide.ext.openshift.shared.dto.BuildStatus.Phase.Run
 /**
  * Manages OpenShift builds.
  *
- * Presenter automatically describes on build channel for each OpenShift project,
+ * Presenter automatically describes on build channel of workspace agent for each OpenShift project,
  * shows builds changes and live logs.
  *
  * @author Vitaliy Guliy
@@ -63,35 +71,83 @@ import static org.eclipse.che.ide.ext.openshift.shared.dto.BuildStatus.Phase.Run
 @Singleton
 public class BuildsPresenter extends BasePresenter implements BuildsView.ActionDelegate, OAuthTokenChangedHandler {
 
+    /** Period of renewal of subscriptions to build changes, should be less than lease of build watch in workspace agent */
+    private static final int SUBSCRIPTION_RENEW_PERIOD_MS = 5 * 60 * 1000;
+
+    /** Initial delay before subscribing to build changes again after failure */
+    private static final int MIN_RESUBSCRIBE_DELAY_MS = 1000;
+
+    /** Maximum delay before subscribing to build changes again after failure */
+    private static final int MAX_RESUBSCRIBE_DELAY_MS = 60 * 1000;
+
+    /** Number of earlier lines of build log which are requested when user scrolls log to the top */
+    private static final int EARLIER_LOG_LINES = 1000;
+
+    /** Maximum number of kept logs watchers, logs of the least recently used builds are dropped */
+    private static final int MAX_LOGS_WATCHERS = 50;
+
+    /** Maximum number of tracked notifications about running builds */
+    private static final int MAX_NOTIFICATIONS = 50;
+
+    /** Time during which the rest of log of finished build is received before its logs watcher is stopped */
+    private static final int FINISHED_LOG_TIMEOUT_MS = 30 * 1000;
+
     private final BuildsView                     view;
     private final WorkspaceAgent                 workspaceAgent;
     private final DtoFactory                     dtoFactory;
     private final NotificationManager            notificationManager;
     private final OpenshiftLocalizationConstant  locale;
-    private final OpenshiftWebSocketPathProvider wsPathProvider;
+    private final OpenshiftServiceClient         openshiftService;
+    private final OpenshiftResourceStore         resourceStore;
+    private final MessageBusProvider             messageBusProvider;
     private AppContext appContext;
 
-    private String webSocketBasePath = null;
-
     private String oauthToken = null;
 
     /** A set of build watchers. Use `namespace` for key */
     private HashMap<String, BuildsWatcher> buildWatchers = new HashMap<>();
 
-    /** A set of logs watchers. Use `namespace` + `/` + `name` for key */
-    private HashMap<String, LogsWatcher> logsWatchers = new HashMap<>();
+    /** A set of logs watchers ordered by access. Use `namespace` + `/` + `name` for key */
+    private LinkedHashMap<String, LogsWatcher> logsWatchers = new LinkedHashMap<String, LogsWatcher>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LogsWatcher> eldest) {
+            if (size() <= MAX_LOGS_WATCHERS) {
+                return false;
+            }
+            eldest.getValue().stopWatching();
+            view.removeLog(eldest.getValue().build);
+            logCounts("Logs watcher of build " + eldest.getKey() + " evicted");
+            return true;
+        }
+    };
 
-    /** A set of notifications */
-    private HashMap<String, StatusNotification> notifications = new HashMap<>();
+    /**
+     * A set of notifications ordered by access. Use `namespace` + `/` + `name` for key.
+     * Evicted notification is not updated anymore, so it stops showing progress.
+     */
+    private LinkedHashMap<String, StatusNotification> notifications = new LinkedHashMap<String, StatusNotification>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StatusNotification> eldest) {
+            if (size() <= MAX_NOTIFICATIONS) {
+                return false;
+            }
+            eldest.getValue().setTitle(locale.buildStatusUntracked(eldest.getKey()));
+            eldest.getValue().setStatus(WARNING);
+            logCounts("Notification of build " + eldest.getKey() + " evicted");
+            return true;
+        }
+    };
 
     @Inject
     public BuildsPresenter(final BuildsView view,
                            final WorkspaceAgent workspaceAgent,
-                           final OpenshiftWebSocketPathProvider wsPathProvider,
                            final EventBus eventBus,
                            final DtoFactory dtoFactory,
                            final NotificationManager notificationManager,
                            final OpenshiftLocalizationConstant locale,
+                           final OpenshiftServiceClient openshiftService,
+                           final OpenshiftResourceStore resourceStore,
+                           final MessageBusProvider messageBusProvider,
                            AppContext appContext
                           ) {
         this.view = view;
@@ -99,7 +155,9 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
         this.dtoFactory = dtoFactory;
         this.notificationManager = notificationManager;
         this.locale = locale;
-        this.wsPathProvider = wsPathProvider;
+        this.openshiftService = openshiftService;
+        this.resourceStore = resourceStore;
+        this.messageBusProvider = messageBusProvider;
         this.appContext = appContext;
 
         view.setDelegate(this);
@@ -114,30 +172,10 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
         if (oauthToken == null) {
             stopWatching();
         } else {
-            if (WebSocket.isSupported()) {
-                getWebSocketBasePath();
-            }
+            checkWorkspaceProjects();
         }
     }
 
-    /**
-     * Retrieves a base path for OpenShift WebSocket connections.
-     */
-    private void getWebSocketBasePath() {
-        wsPathProvider.get(new AsyncCallback<String>() {
-            @Override
-            public void onSuccess(String webSocketPath) {
-                webSocketBasePath = webSocketPath;
-                checkWorkspaceProjects();
-            }
-
-            @Override
-            public void onFailure(Throwable caught) {
-                Log.error(getClass(), caught.getMessage());
-            }
-        });
-    }
-
     /**
      * Checks workspace projects for being deployed on OpenShift and starts observation for builds for that projects.
      */
@@ -165,9 +203,10 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
     }
 
     /**
-     * Stop watching for builds and logs, closes all websocket connections to openshift origin.
+     * Stop watching for builds and logs, unsubscribes from build and log channels of workspace agent.
      */
     private void stopWatching() {
+        logCounts("Stopping watching of builds");
         for (BuildsWatcher buildsWatcher : buildWatchers.values()) {
             buildsWatcher.stopWatching();
         }
@@ -272,6 +311,8 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
     private void onBuildComplete(final Build build) {
         String buildId = build.getMetadata().getNamespace() + "/" + build.getMetadata().getName();
 
+        finishLogsWatcher(buildId);
+
         if (notifications.containsKey(buildId)) {
             StatusNotification notification = notifications.get(buildId);
             notification.setTitle(locale.buildStatusCompleted(buildId));
@@ -290,6 +331,8 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
     private void onBuildFailed(final Build build) {
         String buildId = build.getMetadata().getNamespace() + "/" + build.getMetadata().getName();
 
+        finishLogsWatcher(buildId);
+
         if (notifications.containsKey(buildId)) {
             StatusNotification notification = notifications.get(buildId);
             notification.setTitle(locale.buildStatusFailed(buildId));
@@ -300,6 +343,89 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
         }
     }
 
+    /**
+     * Removes deleted build, its log and notification.
+     *
+     * @param build
+     *          build
+     */
+    private void onBuildDeleted(final Build build) {
+        String buildId = build.getMetadata().getNamespace() + "/" + build.getMetadata().getName();
+
+        resourceStore.onBuildDeleted(build);
+
+        LogsWatcher logsWatcher = logsWatchers.remove(buildId);
+        if (logsWatcher != null) {
+            logsWatcher.stopWatching();
+        }
+        view.removeLog(build);
+        view.removeBuild(build);
+
+        StatusNotification notification = notifications.remove(buildId);
+        if (notification != null) {
+            notification.setTitle(locale.buildStatusDeleted(buildId));
+            notification.setStatus(FAIL);
+            notificationManager.notify(notification);
+        }
+    }
+
+    /**
+     * Stops logs watcher of finished build when the rest of log is received.
+     *
+     * @param buildId
+     *          build id
+     */
+    private void finishLogsWatcher(String buildId) {
+        LogsWatcher logsWatcher = logsWatchers.get(buildId);
+        if (logsWatcher != null) {
+            logsWatcher.buildFinished();
+        }
+    }
+
+    /**
+     * Returns number of namespaces which builds are watched.
+     */
+    public int getBuildWatchersCount() {
+        return buildWatchers.size();
+    }
+
+    /**
+     * Returns number of kept logs watchers, including ones which already received whole log.
+     */
+    public int getLogsWatchersCount() {
+        return logsWatchers.size();
+    }
+
+    /**
+     * Returns number of logs watchers which receive new lines of logs.
+     */
+    public int getActiveLogsWatchersCount() {
+        int count = 0;
+        for (LogsWatcher logsWatcher : logsWatchers.values()) {
+            if (logsWatcher.channel != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns number of tracked notifications about running builds.
+     */
+    public int getNotificationsCount() {
+        return notifications.size();
+    }
+
+    /**
+     * Logs counts of watchers and notifications, so growth of them can be diagnosed in browser console.
+     */
+    private void logCounts(String reason) {
+        Log.debug(getClass(), reason + ". Build watchers: " + getBuildWatchersCount()
+                              + ", logs watchers: " + getLogsWatchersCount()
+                              + ", active logs watchers: " + getActiveLogsWatchersCount()
+                              + ", notifications: " + getNotificationsCount());
+    }
+
     @Override
     public String getTitle() {
         return locale.buildsPartTitle();
@@ -338,54 +464,142 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
      * Manages connection to build channel, parses received messages as Build object, reacts on changing the build status.
      *
      ******************************************************************************************************************/
-    private class BuildsWatcher implements MessageReceivedHandler, ConnectionOpenedHandler, ConnectionErrorHandler {
-
-        /** WebSocket connection */
-        private WebSocket webSocket;
+    private class BuildsWatcher extends SubscriptionHandler<String> {
 
         /** Application namespace */
         private String namespace;
 
+        /** Websocket channel of workspace agent to which changes of builds are sent */
+        private String channel;
+
+        /** Renews subscription to build changes, otherwise workspace agent stops watching */
+        private Timer renewTimer;
+
+        /** Subscribes to build changes again after failure */
+        private Timer resubscribeTimer;
+
+        private int resubscribeDelayMs = MIN_RESUBSCRIBE_DELAY_MS;
+
+        /** The last seen resource versions of builds. Use build name for key */
+        private Map<String, String> resourceVersions = new HashMap<>();
+
         public BuildsWatcher(String namespace) {
+            super(new StringUnmarshallerWS());
             this.namespace = namespace;
         }
 
         /**
-         * Opens a websocket connection to the build channel.
+         * Subscribes to the build channel of workspace agent.
+         * Workspace agent keeps single connection to openshift for the namespace and reconnects it when needed.
          */
         public void startWatching() {
             if (oauthToken == null) {
                 return;
             }
 
+            subscribe();
+            renewTimer = new Timer() {
+                @Override
+                public void run() {
+                    subscribe();
+                }
+            };
+            renewTimer.scheduleRepeating(SUBSCRIPTION_RENEW_PERIOD_MS);
+        }
+
+        private void subscribe() {
+            openshiftService.watchBuilds(namespace).then(new Operation<WatchChannel>() {
+                @Override
+                public void apply(WatchChannel watchChannel) throws OperationException {
+                    if (watchChannel.getChannel().equals(channel)) {
+                        return;
+                    }
+                    unsubscribe();
+                    try {
+                        messageBusProvider.getMachineMessageBus().subscribe(watchChannel.getChannel(), BuildsWatcher.this);
+                        channel = watchChannel.getChannel();
+                        resubscribeDelayMs = MIN_RESUBSCRIBE_DELAY_MS;
+                        view.updateProject(namespace, true);
+                    } catch (WebSocketException e) {
+                        Log.error(getClass(), e.getMessage());
+                        onSubscriptionFailed();
+                    }
+                }
+            }).catchError(new Operation<PromiseError>() {
+                @Override
+                public void apply(PromiseError error) throws OperationException {
+                    onSubscriptionFailed();
+                }
+            });
+        }
+
+        /**
+         * Marks the project as disconnected and subscribes again after jittered exponential backoff,
+         * so IDE sessions which lost connection at the same time don't subscribe all together.
+         */
+        private void onSubscriptionFailed() {
+            view.updateProject(namespace, false);
+            if (renewTimer == null || resubscribeTimer != null) {
+                return;
+            }
+
+            int delay = resubscribeDelayMs / 2 + (int)(Math.random() * (resubscribeDelayMs / 2 + 1));
+            resubscribeDelayMs = Math.min(resubscribeDelayMs * 2, MAX_RESUBSCRIBE_DELAY_MS);
+            resubscribeTimer = new Timer() {
+                @Override
+                public void run() {
+                    resubscribeTimer = null;
+                    subscribe();
+                }
+            };
+            resubscribeTimer.schedule(delay);
+        }
+
+        private void unsubscribe() {
+            if (channel == null) {
+                return;
+            }
             try {
-                webSocket = WebSocket.create(webSocketBasePath + "/watch/namespaces/" + namespace + "/builds?access_token=" + oauthToken);
-                webSocket.setOnMessageHandler(BuildsWatcher.this);
-                webSocket.setOnOpenHandler(BuildsWatcher.this);
-                webSocket.setOnErrorHandler(BuildsWatcher.this);
-            } catch (Exception e) {
+                messageBusProvider.getMachineMessageBus().unsubscribe(channel, this);
+            } catch (WebSocketException e) {
                 Log.error(getClass(), e.getMessage());
             }
+            channel = null;
         }
 
         /**
-         * Closes opened websocket connection ignoring errors.
+         * Unsubscribes from the build channel ignoring errors.
          */
         public void stopWatching() {
-            try {
-                if (webSocket != null) {
-                    webSocket.close();
-                }
-            } catch (Exception e) {
-                Log.error(getClass(), e.getMessage());
+            if (renewTimer != null) {
+                renewTimer.cancel();
+                renewTimer = null;
+            }
+            if (resubscribeTimer != null) {
+                resubscribeTimer.cancel();
+                resubscribeTimer = null;
             }
+            unsubscribe();
         }
 
         @Override
-        public void onMessageReceived(MessageReceivedEvent event) {
-            BuildChangeEvent buildChangeEvent = dtoFactory.createDtoFromJson(event.getMessage(), BuildChangeEvent.class);
+        protected void onMessageReceived(String message) {
+            BuildChangeEvent buildChangeEvent = dtoFactory.createDtoFromJson(message, BuildChangeEvent.class);
             Build build = buildChangeEvent.getObject();
 
+            if (BuildChangeEvent.EventType.DELETED.equals(buildChangeEvent.getType())) {
+                resourceVersions.remove(build.getMetadata().getName());
+                onBuildDeleted(build);
+                return;
+            }
+
+            // workspace agent sends all builds again when it lists them after losing its watch
+            String resourceVersion = build.getMetadata().getResourceVersion();
+            if (resourceVersion != null && resourceVersion.equals(resourceVersions.put(build.getMetadata().getName(), resourceVersion))) {
+                return;
+            }
+
+            resourceStore.onBuildChanged(build, BuildChangeEvent.EventType.ADDED.equals(buildChangeEvent.getType()));
             view.showBuild(build);
 
             if (Pending.equals(build.getStatus().getPhase())) {
@@ -403,13 +617,9 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
         }
 
         @Override
-        public void onOpen() {
-            view.updateProject(namespace, true);
-        }
-
-        @Override
-        public void onError() {
-            view.updateProject(namespace, false);
+        protected void onErrorReceived(Throwable exception) {
+            unsubscribe();
+            onSubscriptionFailed();
         }
 
     }
@@ -418,53 +628,174 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
      *
      * Logs Watcher
      *
-     * Manages connection to build logs channel, receives and displays build logs.
+     * Reads build log kept by workspace agent, receives and displays new lines of it from log channel of workspace agent.
      *
      ******************************************************************************************************************/
-    private class LogsWatcher implements MessageReceivedHandler {
+    private class LogsWatcher extends SubscriptionHandler<String> {
 
         /** Build */
         private Build build;
 
-        /** WebSocket connection */
-        private WebSocket webSocket;
+        /** Number of the next line of log which should be displayed */
+        private long next;
+
+        /** Websocket channel of workspace agent to which new lines of log are sent */
+        private String channel;
+
+        /** Whether whole log is displayed */
+        private boolean complete;
+
+        private boolean stopped;
+
+        /** Stops watching if log of finished build is not completed in time */
+        private Timer finishTimer;
 
         public LogsWatcher(Build build) {
+            super(new StringUnmarshallerWS());
             this.build = build;
         }
 
         /**
-         * Opens a websocket connection to the build logs channel.
+         * Reads lines of log which are not displayed yet and subscribes to the log channel.
          */
         public void startWatching() {
             if (oauthToken == null) {
                 return;
             }
 
+            stopped = false;
+            readLog();
+        }
+
+        /**
+         * Returns {@code true} when log is displayed completely or new lines of it are received.
+         */
+        public boolean isWatching() {
+            return complete || channel != null;
+        }
+
+        private void readLog() {
             String namespace = build.getMetadata().getNamespace();
             String buildName = build.getMetadata().getName();
-            webSocket = WebSocket.create(webSocketBasePath + "/namespaces/" + namespace + "/builds/" + buildName +
-                                         "/log?follow=true&tailLines=1000&limitBytes=10485760&access_token=" + oauthToken);
-            webSocket.setOnMessageHandler(LogsWatcher.this);
+            openshiftService.getBuildLog(namespace, buildName, next).then(new Operation<BuildLog>() {
+                @Override
+                public void apply(BuildLog log) throws OperationException {
+                    if (stopped) {
+                        return;
+                    }
+                    write(log);
+                    if (log.getError() != null) {
+                        Log.error(getClass(), log.getError());
+                        unsubscribe();
+                        return;
+                    }
+                    if (log.isComplete()) {
+                        complete = true;
+                        unsubscribe();
+                        return;
+                    }
+                    if (log.getChannel().equals(channel)) {
+                        return;
+                    }
+                    unsubscribe();
+                    try {
+                        messageBusProvider.getMachineMessageBus().subscribe(log.getChannel(), LogsWatcher.this);
+                        channel = log.getChannel();
+                    } catch (WebSocketException e) {
+                        Log.error(getClass(), e.getMessage());
+                        return;
+                    }
+                    // read lines which were appended before subscription
+                    readLog();
+                }
+            }).catchError(new Operation<PromiseError>() {
+                @Override
+                public void apply(PromiseError error) throws OperationException {
+                    Log.error(getClass(), error.getMessage());
+                }
+            });
         }
 
+        /**
+         * Displays lines of log which are not displayed yet.
+         */
+        private void write(BuildLog log) {
+            List<String> lines = log.getLines();
+            int skip = (int)Math.max(next - log.getFrom(), 0);
+            if (skip >= lines.size()) {
+                return;
+            }
+
+            view.writeLog(build, log.getFrom() + skip, lines.subList(skip, lines.size()));
+            next = log.getFrom() + lines.size();
+        }
+
+        private void unsubscribe() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                messageBusProvider.getMachineMessageBus().unsubscribe(channel, this);
+            } catch (WebSocketException e) {
+                Log.error(getClass(), e.getMessage());
+            }
+            channel = null;
+        }
 
         /**
-         * Closes opened websocket connection ignoring errors.
+         * Unsubscribes from the log channel ignoring errors.
          */
         public void stopWatching() {
-            try {
-                if (webSocket != null) {
-                    webSocket.close();
+            stopped = true;
+            if (finishTimer != null) {
+                finishTimer.cancel();
+                finishTimer = null;
+            }
+            unsubscribe();
+        }
+
+        /**
+         * Waits for the rest of log of finished build and stops watching if it is not received in time.
+         * Log may be watched again when the build is selected.
+         */
+        public void buildFinished() {
+            if (stopped || complete || finishTimer != null) {
+                return;
+            }
+            finishTimer = new Timer() {
+                @Override
+                public void run() {
+                    finishTimer = null;
+                    if (!complete) {
+                        stopWatching();
+                    }
+                }
+            };
+            finishTimer.schedule(FINISHED_LOG_TIMEOUT_MS);
+        }
+
+        @Override
+        protected void onMessageReceived(String message) {
+            BuildLog log = dtoFactory.createDtoFromJson(message, BuildLog.class);
+            if (log.getError() != null) {
+                // workspace agent stopped reading of log, request it again
+                unsubscribe();
+                readLog();
+            } else if (log.getFrom() > next) {
+                // some lines were missed
+                readLog();
+            } else {
+                write(log);
+                if (log.isComplete()) {
+                    complete = true;
+                    unsubscribe();
                 }
-            } catch (Exception e) {
-                Log.error(getClass(), e.getMessage());
             }
         }
 
         @Override
-        public void onMessageReceived(MessageReceivedEvent event) {
-            view.writeLog(build, event.getMessage());
+        protected void onErrorReceived(Throwable exception) {
+            Log.error(getClass(), exception.getMessage());
         }
 
     }
@@ -479,11 +810,33 @@ public class BuildsPresenter extends BasePresenter implements BuildsView.ActionD
             return;
         }
 
-        if (!logsWatchers.containsKey(buildId)) {
-            LogsWatcher logsWatcher = new LogsWatcher(build);
+        LogsWatcher logsWatcher = logsWatchers.get(buildId);
+        if (logsWatcher == null) {
+            logsWatcher = new LogsWatcher(build);
             logsWatchers.put(buildId, logsWatcher);
             logsWatcher.startWatching();
+        } else if (!logsWatcher.isWatching()) {
+            logsWatcher.startWatching();
         }
     }
 
+    @Override
+    public void earlierLogRequested(final Build build, final long before) {
+        long from = Math.max(before - EARLIER_LOG_LINES, 0);
+        openshiftService.getBuildLog(build.getMetadata().getNamespace(), build.getMetadata().getName(), from, (int)(before - from))
+                        .then(new Operation<BuildLog>() {
+                            @Override
+                            public void apply(BuildLog log) throws OperationException {
+                                view.prependLog(build, log.getFrom(), log.getLines());
+                            }
+                        })
+                        .catchError(new Operation<PromiseError>() {
+                            @Override
+                            public void apply(PromiseError error) throws OperationException {
+                                Log.error(getClass(), error.getMessage());
+                                view.earlierLogFailed(build);
+                            }
+                        });
+    }
+
 }
@@ -15,6 +15,8 @@ import org.eclipse.che.ide.api.mvp.View;
 import org.eclipse.che.ide.api.parts.base.BaseActionDelegate;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
 
+import java.util.List;
+
 /**
  * The view of {@link BuildsPresenter}.
  * View contains projects and builds represented as tree and logs area.
@@ -34,6 +36,15 @@ public interface BuildsView extends View<BuildsView.ActionDelegate> {
          *          selected build
          */
         void buildSelected(Build build);
+
+        /**
+         * Called when user scrolled build log to the top and some earlier lines of it are not kept by the view.
+         * @param build
+         *          build
+         * @param before
+         *          number of the first kept line
+         */
+        void earlierLogRequested(Build build, long before);
     }
 
     /**
@@ -62,6 +73,14 @@ public interface BuildsView extends View<BuildsView.ActionDelegate> {
      */
     void showBuild(Build build);
 
+    /**
+     * Removes a build from the project tree.
+     *
+     * @param build
+     *          build to remove
+     */
+    void removeBuild(Build build);
+
     /**
      * Selects a build in the project tree.
      *
@@ -79,14 +98,44 @@ public interface BuildsView extends View<BuildsView.ActionDelegate> {
     void showLog(Build build);
 
     /**
-     * Writes a text to build logs area.
+     * Appends lines to build logs area.
+     *
+     * @param build
+     *          build
+     * @param from
+     *          number of the first line in whole log
+     * @param lines
+     *          log lines
+     */
+    void writeLog(Build build, long from, List<String> lines);
+
+    /**
+     * Inserts earlier lines of build log requested by {@link ActionDelegate#earlierLogRequested(Build, long)}.
+     *
+     * @param build
+     *          build
+     * @param from
+     *          number of the first line in whole log
+     * @param lines
+     *          log lines, empty if there are no earlier lines
+     */
+    void prependLog(Build build, long from, List<String> lines);
+
+    /**
+     * Allows to request earlier lines of build log again after {@link ActionDelegate#earlierLogRequested(Build, long)} failed.
+     *
+     * @param build
+     *          build
+     */
+    void earlierLogFailed(Build build);
+
+    /**
+     * Removes logs area of the build.
      *
      * @param build
      *          build
-     * @param text
-     *          log text
      */
-    void writeLog(Build build, String text);
+    void removeLog(Build build);
 
     /**
      * Removes all projects from the tree and clears logs area.
@@ -10,9 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.client.build;
 
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.dom.client.MouseDownEvent;
 import com.google.gwt.event.dom.client.MouseDownHandler;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.resources.client.CssResource;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
@@ -27,6 +31,7 @@ import com.google.inject.Singleton;
 import org.eclipse.che.ide.Resources;
 import org.eclipse.che.ide.api.parts.PartStackUIResources;
 import org.eclipse.che.ide.api.parts.base.BaseView;
+import org.eclipse.che.ide.api.preferences.PreferencesManager;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
 import static org.eclipse.che.ide.ext.openshift.shared.dto.BuildStatus.Phase.Complete;
@@ -37,7 +42,9 @@ import static org.eclipse.che.ide.ext.openshift.shared.dto.BuildStatus.Phase.Run
 import org.vectomatic.dom.svg.ui.SVGImage;
 import org.vectomatic.dom.svg.ui.SVGResource;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -48,6 +55,17 @@ import java.util.Map;
 @Singleton
 public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implements BuildsView {
 
+    /** Preference which limits number of lines kept by build logger */
+    public static final String LOG_MAX_LINES_PREFERENCE = "openshift.buildLog.maxLines";
+
+    private static final int DEFAULT_LOG_MAX_LINES = 10000;
+
+    /** Height of line of build log in pixels */
+    private static final int LOG_LINE_HEIGHT = 14;
+
+    /** Number of lines rendered above and below visible part of build log */
+    private static final int LOG_OVERSCAN_LINES = 50;
+
     interface BuildsViewImplUiBinder extends UiBinder<Widget, BuildsViewImpl> {
     }
 
@@ -95,6 +113,8 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
 
     private Resources ideResources;
 
+    private PreferencesManager preferencesManager;
+
     @UiField
     BuildsStyles style;
 
@@ -123,9 +143,11 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
     public BuildsViewImpl(PartStackUIResources partStackUIResources,
                           BuildsViewImplUiBinder uiBinder,
                           Resources ideResources,
+                          PreferencesManager preferencesManager,
                           OpenshiftLocalizationConstant locale) {
         super(partStackUIResources);
         this.ideResources = ideResources;
+        this.preferencesManager = preferencesManager;
         mainPanel = new SplitLayoutPanel(3);
         setContentWidget(uiBinder.createAndBindUi(this));
         setTitle(locale.buildsPartTooltip());
@@ -158,6 +180,14 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
         projectItem.showBuild(build);
     }
 
+    @Override
+    public void removeBuild(Build build) {
+        ProjectItem projectItem = projectItems.get(build.getMetadata().getNamespace());
+        if (projectItem != null) {
+            projectItem.removeBuild(build);
+        }
+    }
+
     @Override
     public void selectBuild(Build build) {
         ProjectItem projectItem = projectItems.get(build.getMetadata().getNamespace());
@@ -187,7 +217,39 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
     }
 
     @Override
-    public void writeLog(Build build, String text) {
+    public void writeLog(Build build, long from, List<String> lines) {
+        getBuildLogger(build).write(from, lines);
+    }
+
+    @Override
+    public void prependLog(Build build, long from, List<String> lines) {
+        getBuildLogger(build).prepend(from, lines);
+    }
+
+    @Override
+    public void earlierLogFailed(Build build) {
+        BuildLogger logger = buildLoggers.get(build.getMetadata().getNamespace() + "/" + build.getMetadata().getName());
+        if (logger != null) {
+            logger.earlierLinesFailed();
+        }
+    }
+
+    @Override
+    public void removeLog(Build build) {
+        String buildId = build.getMetadata().getNamespace() + "/" + build.getMetadata().getName();
+
+        BuildLogger logger = buildLoggers.remove(buildId);
+        if (logger == null) {
+            return;
+        }
+
+        logsPanel.remove(logger);
+        if (selectedBuildLogger == logger) {
+            selectedBuildLogger = null;
+        }
+    }
+
+    private BuildLogger getBuildLogger(Build build) {
         String buildId = build.getMetadata().getNamespace() + "/" + build.getMetadata().getName();
 
         BuildLogger logger = buildLoggers.get(buildId);
@@ -197,8 +259,24 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
             logsPanel.add(logger);
             buildLoggers.put(buildId, logger);
         }
+        return logger;
+    }
 
-        logger.write(text);
+    /**
+     * Returns maximum number of lines kept by build logger.
+     */
+    private int getLogMaxLines() {
+        String value = preferencesManager.getValue(LOG_MAX_LINES_PREFERENCE);
+        if (value != null) {
+            try {
+                int maxLines = Integer.parseInt(value);
+                if (maxLines > 0) {
+                    return maxLines;
+                }
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return DEFAULT_LOG_MAX_LINES;
     }
 
     @Override
@@ -288,6 +366,24 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
             buildItems.put(build.getMetadata().getName(), buildItem);
         }
 
+        /**
+         * Removes build item.
+         *
+         * @param build
+         *          build
+         */
+        public void removeBuild(Build build) {
+            BuildItem buildItem = buildItems.remove(build.getMetadata().getName());
+            if (buildItem == null) {
+                return;
+            }
+
+            builds.remove(buildItem);
+            if (selectedBuildItem == buildItem) {
+                selectedBuildItem = null;
+            }
+        }
+
         /**
          * Updates tree item state.
          */
@@ -455,14 +551,42 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
      * Build Logger
      * Represents a logs area for a build.
      *
+     * Received lines are buffered and displayed once per animation frame. Only visible lines are rendered,
+     * the logger keeps limited number of the last lines, earlier lines are requested from workspace agent
+     * when the area is scrolled to the top.
+     *
      ******************************************************************************************************************/
-    private class BuildLogger extends AbsolutePanel {
+    private class BuildLogger extends AbsolutePanel implements ScrollHandler {
+
+        private Build build;
 
         private FlowPanel header;
         private ScrollPanel scrollPanel;
         private FlowPanel logsPanel;
+        private PreElement linesElement;
+
+        private int maxLines;
+
+        /** Kept lines of log */
+        private List<String> lines = new ArrayList<>();
+
+        /** Number of the first kept line in whole log */
+        private long firstLine = -1;
+
+        /** Lines which are received but not displayed yet */
+        private List<String> pendingLines = new ArrayList<>();
+
+        /** Whether the area is scrolled to the bottom and should be kept scrolled there */
+        private boolean following = true;
+
+        private boolean frameRequested;
+        private boolean earlierLinesRequested;
+        private boolean noEarlierLines;
 
         public BuildLogger(Build build) {
+            this.build = build;
+            this.maxLines = getLogMaxLines();
+
             setStyleName(style.logger());
 
             header = new FlowPanel();
@@ -475,28 +599,167 @@ public class BuildsViewImpl extends BaseView<BuildsView.ActionDelegate> implemen
             add(body);
 
             scrollPanel = new ScrollPanel();
+            scrollPanel.addScrollHandler(this);
             body.add(scrollPanel);
 
             logsPanel = new FlowPanel();
             logsPanel.setStyleName(style.loggerLines());
             scrollPanel.add(logsPanel);
+
+            linesElement = DOM.createElement("pre").cast();
+            linesElement.getStyle().setLineHeight(LOG_LINE_HEIGHT, Style.Unit.PX);
+            logsPanel.getElement().appendChild(linesElement);
+        }
+
+        /**
+         * Appends lines to the log.
+         * Lines which are already kept are ignored. If some lines are missing before the written ones
+         * the kept lines are dropped, so the missing ones are requested again when the area is scrolled to the top.
+         * Scrolls the area to the bottom if it was scrolled there.
+         *
+         * @param from
+         *          number of the first line in whole log
+         * @param newLines
+         *          lines to write
+         */
+        public void write(long from, List<String> newLines) {
+            long next = firstLine + lines.size() + pendingLines.size();
+            if (firstLine < 0 || from > next) {
+                lines.clear();
+                pendingLines.clear();
+                firstLine = from;
+                next = from;
+                noEarlierLines = false;
+            }
+
+            int skip = (int)Math.min(next - from, newLines.size());
+            pendingLines.addAll(newLines.subList(skip, newLines.size()));
+            requestFrame();
         }
 
         /**
-         * Writes a text to the scrollable area.
-         * Scrolls the area to the bottom if logger is visible.
+         * Inserts earlier lines of the log before the kept ones.
          *
-         * @param text
-         *          text to write
+         * @param from
+         *          number of the first line in whole log
+         * @param earlierLines
+         *          lines to insert, lines which are already kept are ignored,
+         *          lines which do not reach the first kept line are ignored as well
          */
-        public void write(String text) {
-            PreElement pre = DOM.createElement("pre").cast();
-            pre.setInnerHTML(text);
-            logsPanel.getElement().appendChild(pre);
+        public void prepend(long from, List<String> earlierLines) {
+            earlierLinesRequested = false;
 
-            if (isVisible()) {
+            if (earlierLines.isEmpty()) {
+                noEarlierLines = true;
+                return;
+            }
+            if (from + earlierLines.size() < firstLine) {
+                // kept lines were replaced while the earlier ones were requested
+                return;
+            }
+
+            int count = (int)Math.min(Math.max(firstLine - from, 0), earlierLines.size());
+            if (count == 0) {
+                return;
+            }
+
+            lines.addAll(0, earlierLines.subList(0, count));
+            firstLine -= count;
+            // keep the same lines in the visible part of the area
+            scrollPanel.setVerticalScrollPosition(scrollPanel.getVerticalScrollPosition() + count * LOG_LINE_HEIGHT);
+            requestFrame();
+        }
+
+        /**
+         * Allows to request earlier lines again when the area is scrolled to the top.
+         */
+        public void earlierLinesFailed() {
+            earlierLinesRequested = false;
+        }
+
+        @Override
+        public void setVisible(boolean visible) {
+            super.setVisible(visible);
+
+            if (visible) {
+                requestFrame();
+            }
+        }
+
+        @Override
+        public void onScroll(ScrollEvent event) {
+            int scrollPosition = scrollPanel.getVerticalScrollPosition();
+            following = scrollPosition + scrollPanel.getOffsetHeight() >= lines.size() * LOG_LINE_HEIGHT - LOG_LINE_HEIGHT;
+
+            // reading back is limited by twice the kept lines, the earliest ones are not requested after that
+            if (scrollPosition == 0 && firstLine > 0 && !earlierLinesRequested && !noEarlierLines && lines.size() < 2 * maxLines) {
+                earlierLinesRequested = true;
+                delegate.earlierLogRequested(build, firstLine);
+            }
+
+            requestFrame();
+        }
+
+        private void requestFrame() {
+            if (frameRequested) {
+                return;
+            }
+            frameRequested = true;
+            AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+                @Override
+                public void execute(double timestamp) {
+                    frameRequested = false;
+                    flush();
+                }
+            }, getElement());
+        }
+
+        /**
+         * Moves pending lines to the kept ones and renders visible lines.
+         */
+        private void flush() {
+            if (!pendingLines.isEmpty()) {
+                lines.addAll(pendingLines);
+                pendingLines.clear();
+            }
+
+            // lines loaded while reading the beginning of log are dropped when the user returns to the end of it,
+            // while the user reads it only lines above the visible part are dropped
+            int dropped = 0;
+            if (following) {
+                dropped = Math.max(lines.size() - maxLines, 0);
+            } else if (lines.size() > 2 * maxLines) {
+                int above = Math.max(scrollPanel.getVerticalScrollPosition() / LOG_LINE_HEIGHT - LOG_OVERSCAN_LINES, 0);
+                dropped = Math.min(lines.size() - maxLines, above);
+            }
+            if (dropped > 0) {
+                lines.subList(0, dropped).clear();
+                firstLine += dropped;
+                noEarlierLines = false;
+                if (!following) {
+                    scrollPanel.setVerticalScrollPosition(scrollPanel.getVerticalScrollPosition() - dropped * LOG_LINE_HEIGHT);
+                }
+            }
+
+            if (!isVisible()) {
+                return;
+            }
+
+            logsPanel.setHeight(lines.size() * LOG_LINE_HEIGHT + "px");
+            if (following) {
                 scrollPanel.scrollToBottom();
             }
+
+            int scrollPosition = scrollPanel.getVerticalScrollPosition();
+            int start = Math.max(scrollPosition / LOG_LINE_HEIGHT - LOG_OVERSCAN_LINES, 0);
+            int end = Math.min((scrollPosition + scrollPanel.getOffsetHeight()) / LOG_LINE_HEIGHT + 1 + LOG_OVERSCAN_LINES, lines.size());
+
+            StringBuilder text = new StringBuilder();
+            for (int i = start; i < end; i++) {
+                text.append(lines.get(i)).append('\n');
+            }
+            linesElement.getStyle().setTop(start * LOG_LINE_HEIGHT, Style.Unit.PX);
+            linesElement.setInnerText(text.toString());
         }
     }
 
@@ -26,6 +26,7 @@ import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthorizationHandler;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
@@ -50,6 +51,7 @@ public class StartBuildAction extends AbstractPerspectiveAction {
     private final OpenshiftAuthorizationHandler authorizationHandler;
     private final AppContext                    appContext;
     private final OpenshiftServiceClient        openshiftService;
+    private final OpenshiftResourceStore        resourceStore;
     private final NotificationManager           notificationManager;
     private final OpenshiftLocalizationConstant locale;
     private final BuildsPresenter               buildsPresenter;
@@ -58,6 +60,7 @@ public class StartBuildAction extends AbstractPerspectiveAction {
     public StartBuildAction(OpenshiftAuthorizationHandler authorizationHandler,
                             AppContext appContext,
                             OpenshiftServiceClient openshiftService,
+                            OpenshiftResourceStore resourceStore,
                             NotificationManager notificationManager,
                             OpenshiftLocalizationConstant locale,
                             BuildsPresenter buildsPresenter) {
@@ -65,6 +68,7 @@ public class StartBuildAction extends AbstractPerspectiveAction {
         this.authorizationHandler = authorizationHandler;
         this.appContext = appContext;
         this.openshiftService = openshiftService;
+        this.resourceStore = resourceStore;
         this.notificationManager = notificationManager;
         this.locale = locale;
         this.buildsPresenter = buildsPresenter;
@@ -77,7 +81,7 @@ public class StartBuildAction extends AbstractPerspectiveAction {
             final Project relatedProject = resource.getRelatedProject().get();
             final String namespace = relatedProject.getAttribute(OPENSHIFT_NAMESPACE_VARIABLE_NAME);
             final String application = relatedProject.getAttribute(OPENSHIFT_APPLICATION_VARIABLE_NAME);
-            openshiftService.getBuildConfigs(namespace, application)
+            resourceStore.getBuildConfigs(namespace, application)
                             .thenPromise(new Function<List<BuildConfig>, Promise<BuildConfig>>() {
                                 @Override
                                 public Promise<BuildConfig> apply(List<BuildConfig> arg) throws FunctionException {
@@ -26,6 +26,7 @@ import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
 import org.eclipse.che.ide.ext.openshift.client.config.ConfigPresenter;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
@@ -48,6 +49,7 @@ public class BuildConfigPresenter implements ConfigPresenter, BuildConfigView.Ac
 
     private final BuildConfigView               view;
     private final OpenshiftServiceClient        service;
+    private final OpenshiftResourceStore        resourceStore;
     private final AppContext                    appContext;
     private final NotificationManager           notificationManager;
     private final OpenshiftLocalizationConstant locale;
@@ -57,6 +59,7 @@ public class BuildConfigPresenter implements ConfigPresenter, BuildConfigView.Ac
     @Inject
     public BuildConfigPresenter(BuildConfigView view,
                                 OpenshiftServiceClient service,
+                                OpenshiftResourceStore resourceStore,
                                 AppContext appContext,
                                 NotificationManager notificationManager,
                                 OpenshiftLocalizationConstant locale,
@@ -65,6 +68,7 @@ public class BuildConfigPresenter implements ConfigPresenter, BuildConfigView.Ac
         this.notificationManager = notificationManager;
         this.locale = locale;
         this.service = service;
+        this.resourceStore = resourceStore;
         this.view = view;
         this.dtoFactory = dtoFactory;
         this.view.setDelegate(this);
@@ -91,7 +95,7 @@ public class BuildConfigPresenter implements ConfigPresenter, BuildConfigView.Ac
             String namespace = project.get().getAttribute(OPENSHIFT_NAMESPACE_VARIABLE_NAME);
             String application = project.get().getAttribute(OPENSHIFT_APPLICATION_VARIABLE_NAME);
 
-            service.getBuildConfigs(namespace, application)
+            resourceStore.getBuildConfigs(namespace, application)
                    .then(showBuildConfigs())
                    .catchError(onFail());
         }
@@ -176,7 +180,7 @@ public class BuildConfigPresenter implements ConfigPresenter, BuildConfigView.Ac
         buildConfig.getSpec().getSource().getGit().setRef(view.getSourceReference());
         buildConfig.getSpec().getSource().getGit().setUri(view.getSourceUrl());
 
-        service.updateBuildConfig(buildConfig).then(new Operation<BuildConfig>() {
+        resourceStore.updateBuildConfig(buildConfig).then(new Operation<BuildConfig>() {
             @Override
             public void apply(BuildConfig arg) throws OperationException {
                 buildConfig = arg;
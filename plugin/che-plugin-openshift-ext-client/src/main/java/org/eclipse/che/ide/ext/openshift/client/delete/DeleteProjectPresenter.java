@@ -24,7 +24,7 @@ import org.eclipse.che.ide.api.project.MutableProjectConfig;
 import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
-import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.ValidateAuthenticationPresenter;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthenticator;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthorizationHandler;
@@ -46,7 +46,7 @@ public class DeleteProjectPresenter extends ValidateAuthenticationPresenter {
     private final AppContext                    appContext;
     private final DialogFactory                 dialogFactory;
     private final OpenshiftLocalizationConstant locale;
-    private final OpenshiftServiceClient        service;
+    private final OpenshiftResourceStore        resourceStore;
     private final NotificationManager           notificationManager;
 
     @Inject
@@ -55,13 +55,13 @@ public class DeleteProjectPresenter extends ValidateAuthenticationPresenter {
                                      AppContext appContext,
                                      DialogFactory dialogFactory,
                                      OpenshiftLocalizationConstant locale,
-                                     OpenshiftServiceClient service,
+                                     OpenshiftResourceStore resourceStore,
                                      NotificationManager notificationManager) {
         super(openshiftAuthenticator, openshiftAuthorizationHandler, locale, notificationManager);
         this.appContext = appContext;
         this.dialogFactory = dialogFactory;
         this.locale = locale;
-        this.service = service;
+        this.resourceStore = resourceStore;
         this.notificationManager = notificationManager;
     }
 
@@ -86,7 +86,7 @@ public class DeleteProjectPresenter extends ValidateAuthenticationPresenter {
                                           new ConfirmCallback() {
                                               @Override
                                               public void accepted() {
-                                                  service.deleteProject(namespace).then(new Operation<Void>() {
+                                                  resourceStore.deleteProject(namespace).then(new Operation<Void>() {
                                                       @Override
                                                       public void apply(Void arg) throws OperationException {
                                                           notificationManager.notify(locale.deleteProjectSuccess(namespace),
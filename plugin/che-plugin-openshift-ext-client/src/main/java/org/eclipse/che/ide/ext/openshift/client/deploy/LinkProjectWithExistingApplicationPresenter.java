@@ -28,7 +28,7 @@ import org.eclipse.che.ide.api.project.MutableProjectConfig;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
-import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.ValidateAuthenticationPresenter;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthenticator;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthorizationHandler;
@@ -68,7 +68,7 @@ public class LinkProjectWithExistingApplicationPresenter extends ValidateAuthent
     private final OpenshiftLocalizationConstant             locale;
     private final NotificationManager                       notificationManager;
     private final DialogFactory                             dialogFactory;
-    private final OpenshiftServiceClient                    openShiftClient;
+    private final OpenshiftResourceStore                    resourceStore;
     private final GitServiceClient                          gitService;
     private final DtoFactory                                dtoFactory;
     private final Map<String, List<BuildConfig>>            buildConfigMap;
@@ -79,7 +79,7 @@ public class LinkProjectWithExistingApplicationPresenter extends ValidateAuthent
     @Inject
     public LinkProjectWithExistingApplicationPresenter(OpenshiftLocalizationConstant locale,
                                                        LinkProjectWithExistingApplicationView view,
-                                                       OpenshiftServiceClient openShiftClient,
+                                                       OpenshiftResourceStore resourceStore,
                                                        GitServiceClient gitService,
                                                        NotificationManager notificationManager,
                                                        DialogFactory dialogFactory,
@@ -98,7 +98,7 @@ public class LinkProjectWithExistingApplicationPresenter extends ValidateAuthent
         this.notificationManager = notificationManager;
         this.dialogFactory = dialogFactory;
         this.dtoFactory = dtoFactory;
-        this.openShiftClient = openShiftClient;
+        this.resourceStore = resourceStore;
         this.gitService = gitService;
         buildConfigMap = new HashMap<>();
     }
@@ -236,7 +236,7 @@ public class LinkProjectWithExistingApplicationPresenter extends ValidateAuthent
      * Load OpenShift Project and Application data.
      */
     private void loadOpenShiftData() {
-        openShiftClient.getProjects().then(new Operation<List<Project>>() {
+        resourceStore.getProjects().then(new Operation<List<Project>>() {
             @Override
             public void apply(List<Project> result) throws OperationException {
                 if (result.isEmpty()) {
@@ -260,7 +260,7 @@ public class LinkProjectWithExistingApplicationPresenter extends ValidateAuthent
      *         namespace for loading build configs
      */
     private void loadBuildConfigs(final String namespace) {
-        openShiftClient.getBuildConfigs(namespace).then(new Operation<List<BuildConfig>>() {
+        resourceStore.getBuildConfigs(namespace).then(new Operation<List<BuildConfig>>() {
             @Override
             public void apply(List<BuildConfig> result) throws OperationException {
                 buildConfigMap.put(namespace, result);
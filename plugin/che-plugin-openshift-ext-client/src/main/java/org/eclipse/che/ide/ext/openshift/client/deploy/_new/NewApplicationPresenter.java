@@ -12,8 +12,9 @@ package org.eclipse.che.ide.ext.openshift.client.deploy._new;
 
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
-import com.google.gwt.core.client.JsArrayMixed;
 import com.google.gwt.json.client.JSONObject;
+import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.json.client.JSONValue;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -36,12 +37,14 @@ import org.eclipse.che.ide.collections.Jso;
 import org.eclipse.che.ide.collections.js.JsoArray;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
 import org.eclipse.che.ide.ext.openshift.client.ValidateAuthenticationPresenter;
 import org.eclipse.che.ide.ext.openshift.client.deploy.ApplicationManager;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthenticator;
 import org.eclipse.che.ide.ext.openshift.client.oauth.OpenshiftAuthorizationHandler;
 import org.eclipse.che.ide.ext.openshift.client.util.OpenshiftValidator;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BatchItemStatus;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfigSpec;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildOutput;
@@ -66,6 +69,7 @@ import org.eclipse.che.ide.ext.openshift.shared.dto.PodSpec;
 import org.eclipse.che.ide.ext.openshift.shared.dto.PodTemplateSpec;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Project;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ProjectRequest;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ResourceBatch;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
 import org.eclipse.che.ide.ext.openshift.shared.dto.RouteSpec;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
@@ -113,6 +117,7 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
     private final OpenshiftLocalizationConstant locale;
     private final GitServiceClient              gitService;
     private final OpenshiftServiceClient        osService;
+    private final OpenshiftResourceStore        resourceStore;
     private final DtoFactory                    dtoFactory;
     private final NotificationManager           notificationManager;
     private final ApplicationManager            applicationManager;
@@ -121,6 +126,8 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
     private       List<Remote>                  projectRemotes;
     private       List<ImageStream>             osImageStreams;
     private       ImageStreamTag                osActiveStreamTag;
+    /** Latest tags of image streams by name of image stream, resolved in one request when image streams are loaded */
+    private final Map<String, ImageStreamTag>   osLatestStreamTags;
     private       String                        osAppName;
 
     private org.eclipse.che.ide.api.resources.Project cdProject;
@@ -134,6 +141,7 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
                                    OpenshiftLocalizationConstant locale,
                                    GitServiceClient gitService,
                                    OpenshiftServiceClient osService,
+                                   OpenshiftResourceStore resourceStore,
                                    DtoFactory dtoFactory,
                                    NotificationManager notificationManager,
                                    ApplicationManager applicationManager,
@@ -146,18 +154,21 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
         this.locale = locale;
         this.gitService = gitService;
         this.osService = osService;
+        this.resourceStore = resourceStore;
         this.dtoFactory = dtoFactory;
         this.notificationManager = notificationManager;
         this.applicationManager = applicationManager;
         view.setDelegate(this);
         osProjects = new ArrayList<>();
         osApplications = new ArrayList<>();
+        osLatestStreamTags = new HashMap<>();
     }
 
     private void reset() {
         osProjects.clear();
         osApplications.clear();
         osImageStreams = null;
+        osLatestStreamTags.clear();
         osAppName = null;
         osActiveStreamTag = null;
         projectRemotes = null;
@@ -228,7 +239,7 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
         view.setApplicationName(cdProject.getName());
         view.show();
 
-        osService.getProjects().then(new Operation<List<Project>>() {
+        resourceStore.getProjects().then(new Operation<List<Project>>() {
             @Override
             public void apply(List<Project> projects) throws OperationException {
                 if (projects == null || projects.isEmpty()) {
@@ -238,7 +249,7 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
                 osProjects.addAll(unmodifiableList(projects));
                 view.setProjects(osProjects);
             }
-        }).then(osService.getImageStreams("openshift", null).then(new Operation<List<ImageStream>>() {
+        }).then(resourceStore.getImageStreams("openshift", null).then(new Operation<List<ImageStream>>() {
             @Override
             public void apply(List<ImageStream> streams) throws OperationException {
                 if (streams == null || streams.isEmpty()) {
@@ -256,6 +267,7 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
 
                 view.setImages(imageNames);
                 view.setLabels(Collections.<KeyValue>emptyList());
+                loadLatestStreamTags(imageNames);
             }
         }));
         applicationManager.getApplicationNamesByNamespaces().then(new Operation<List<Pair<String, String>>>() {
@@ -264,6 +276,11 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
                 osApplications.clear();
                 osApplications.addAll(arg);
             }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError arg) throws OperationException {
+                notificationManager.notify(locale.applicationsListError() + " " + arg.getMessage(), FAIL, EMERGE_MODE);
+            }
         });
     }
 
@@ -286,7 +303,7 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
                                                                      .withDisplayName(osProjectDisplayName)
                                                                      .withDescription(osProjectDescription)
                                                                      .withMetadata(newDto(ObjectMeta.class).withName(osProjectName));
-                projectPromise = osService.createProject(request);
+                projectPromise = resourceStore.createProject(request);
                 break;
             case SELECT_EXISTING_PROJECT:
             default:
@@ -311,35 +328,47 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
                 List<ContainerPort> ports = parsePorts(exposedPorts);
 
                 String namespace = project.getMetadata().getName();
-                List<Promise<?>> promises = new ArrayList<>();
-                promises.add(osService.createImageStream(generateImageStream(namespace, labels)));
-                promises.add(osService.createBuildConfig(generateBuildConfig(namespace, labels)));
-                promises.add(osService.createDeploymentConfig(generateDeploymentConfig(namespace, labels)));
-                promises.add(osService.createRoute(generateRoute(namespace, labels)));
+                List<Object> items = new ArrayList<>();
+                items.add(toJson(generateImageStream(namespace, labels)));
+                items.add(toJson(generateBuildConfig(namespace, labels)));
+                items.add(toJson(generateDeploymentConfig(namespace, labels)));
+                items.add(toJson(generateRoute(namespace, labels)));
 
                 if (!ports.isEmpty()) {
-                    promises.add(osService.createService(generateService(namespace, getFirstPort(ports), labels)));
+                    items.add(toJson(generateService(namespace, getFirstPort(ports), labels)));
                 }
 
-                Promises.all(promises.toArray(new Promise[promises.size()]))
-                        .then(new Operation<JsArrayMixed>() {
-                            @Override
-                            public void apply(JsArrayMixed arg) throws OperationException {
-                                view.showLoader(false);
-                                view.hide();
-                                notificationManager
-                                        .notify(locale.deployProjectSuccess(cdProject.getName()),
-                                                SUCCESS,
-                                                EMERGE_MODE);
-                                setupMixin(project);
-                            }
-                        })
-                        .catchError(new Operation<PromiseError>() {
-                            @Override
-                            public void apply(PromiseError arg) throws OperationException {
-                                handleError(arg);
-                            }
-                        });
+                osService.createResources(namespace, dtoFactory.createDto(ResourceBatch.class).withItems(items))
+                         .then(new Operation<List<BatchItemStatus>>() {
+                             @Override
+                             public void apply(List<BatchItemStatus> statuses) throws OperationException {
+                                 resourceStore.invalidate(namespace);
+                                 for (BatchItemStatus status : statuses) {
+                                     if (BatchItemStatus.FAILED.equals(status.getStatus())) {
+                                         showError(status.getKind() + " " + status.getName() + ": " + status.getMessage());
+                                         return;
+                                     }
+                                     // objects of another application, project must not be linked with them
+                                     if (isApplicationConflict(status)) {
+                                         showError(locale.deployProjectObjectExists(status.getKind(), status.getName(), namespace));
+                                         return;
+                                     }
+                                 }
+                                 view.showLoader(false);
+                                 view.hide();
+                                 notificationManager
+                                         .notify(locale.deployProjectSuccess(cdProject.getName()),
+                                                 SUCCESS,
+                                                 EMERGE_MODE);
+                                 setupMixin(project);
+                             }
+                         })
+                         .catchError(new Operation<PromiseError>() {
+                             @Override
+                             public void apply(PromiseError arg) throws OperationException {
+                                 handleError(arg);
+                             }
+                         });
             }
         }).catchError(new Operation<PromiseError>() {
             @Override
@@ -350,10 +379,27 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
     }
 
     private void handleError(PromiseError error) {
-        view.showLoader(false);
         final ServiceError serviceError = dtoFactory.createDtoFromJson(error.getMessage(), ServiceError.class);
-        notificationManager.notify(serviceError.getMessage(), FAIL, EMERGE_MODE);
-        view.showError(serviceError.getMessage());
+        showError(serviceError.getMessage());
+    }
+
+    private void showError(String message) {
+        view.showLoader(false);
+        notificationManager.notify(message, FAIL, EMERGE_MODE);
+        view.showError(message);
+    }
+
+    /** Returns whether object which defines application already existed, so it belongs to another application */
+    private static boolean isApplicationConflict(BatchItemStatus status) {
+        return BatchItemStatus.EXISTS.equals(status.getStatus())
+               && ("ImageStream".equals(status.getKind())
+                   || "BuildConfig".equals(status.getKind())
+                   || "DeploymentConfig".equals(status.getKind()));
+    }
+
+    /** Converts DTO to JSON object which may be sent as an item of {@link ResourceBatch} */
+    private JSONValue toJson(Object dto) {
+        return JSONParser.parseStrict(dtoFactory.toJson(dto));
     }
 
     private void setupMixin(Project osProject) {
@@ -390,8 +436,29 @@ public class NewApplicationPresenter extends ValidateAuthenticationPresenter imp
                  });
     }
 
+    private void loadLatestStreamTags(List<String> imageNames) {
+        final List<String> tagNames = new ArrayList<>(imageNames.size());
+        for (String imageName : imageNames) {
+            tagNames.add(imageName + ":latest");
+        }
+        osService.getImageStreamTags("openshift", tagNames).then(new Operation<List<ImageStreamTag>>() {
+            @Override
+            public void apply(List<ImageStreamTag> tags) throws OperationException {
+                for (ImageStreamTag tag : tags) {
+                    final String name = tag.getMetadata().getName();
+                    osLatestStreamTags.put(name.substring(0, name.lastIndexOf(':')), tag);
+                }
+            }
+        });
+    }
+
     private Promise<ImageStreamTag> setActiveImageTag(final ImageStream stream) {
-        return osService.getImageStreamTag("openshift", stream.getMetadata().getName(), "latest").thenPromise(
+        final ImageStreamTag latestTag = osLatestStreamTags.get(stream.getMetadata().getName());
+        final Promise<ImageStreamTag> streamTagPromise = latestTag != null ? Promises.resolve(latestTag)
+                                                                           : osService.getImageStreamTag("openshift",
+                                                                                                         stream.getMetadata().getName(),
+                                                                                                         "latest");
+        return streamTagPromise.thenPromise(
                 new Function<ImageStreamTag, Promise<ImageStreamTag>>() {
                     @Override
                     public Promise<ImageStreamTag> apply(ImageStreamTag streamTag) throws FunctionException {
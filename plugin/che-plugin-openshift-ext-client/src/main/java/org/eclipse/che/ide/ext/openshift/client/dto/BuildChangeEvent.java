@@ -20,7 +20,8 @@ import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
 public interface BuildChangeEvent {
     enum EventType {
         ADDED,
-        MODIFIED;
+        MODIFIED,
+        DELETED;
     }
 
     EventType getType();
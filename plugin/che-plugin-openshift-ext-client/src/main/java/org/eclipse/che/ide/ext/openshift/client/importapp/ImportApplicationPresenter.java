@@ -29,7 +29,7 @@ import org.eclipse.che.ide.api.project.wizard.ImportProjectNotificationSubscribe
 import org.eclipse.che.ide.api.project.wizard.ProjectNotificationSubscriber;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
-import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.ValidateAuthenticationPresenter;
 import org.eclipse.che.ide.ext.openshift.client.build.BuildsPresenter;
 import org.eclipse.che.ide.ext.openshift.client.deploy.Application;
@@ -65,7 +65,7 @@ public class ImportApplicationPresenter extends ValidateAuthenticationPresenter
 
     private final ImportApplicationView          view;
     private final OpenshiftLocalizationConstant  locale;
-    private final OpenshiftServiceClient         openShiftClient;
+    private final OpenshiftResourceStore         resourceStore;
     private final DtoFactory                     dtoFactory;
     private final ProjectNotificationSubscriber  importProjectNotificationSubscriber;
     private final List<String>                   cheProjects;
@@ -81,7 +81,7 @@ public class ImportApplicationPresenter extends ValidateAuthenticationPresenter
 
     @Inject
     public ImportApplicationPresenter(OpenshiftLocalizationConstant locale, ImportApplicationView view,
-                                      OpenshiftServiceClient openShiftClient,
+                                      OpenshiftResourceStore resourceStore,
                                       NotificationManager notificationManager,
                                       OpenshiftAuthenticator openshiftAuthenticator,
                                       OpenshiftAuthorizationHandler openshiftAuthorizationHandler,
@@ -96,7 +96,7 @@ public class ImportApplicationPresenter extends ValidateAuthenticationPresenter
         this.applicationManager = applicationManager;
         this.projectResolver = projectResolver;
         this.view.setDelegate(this);
-        this.openShiftClient = openShiftClient;
+        this.resourceStore = resourceStore;
         this.dtoFactory = dtoFactory;
         this.notificationManager = notificationManager;
         this.importProjectNotificationSubscriber = importProjectNotificationSubscriberFactory.createSubscriber();
@@ -162,7 +162,7 @@ public class ImportApplicationPresenter extends ValidateAuthenticationPresenter
      * Load OpenShift Project and Application data.
      */
     private void loadOpenShiftProjects() {
-        openShiftClient.getProjects().then(new Operation<List<Project>>() {
+        resourceStore.getProjects().then(new Operation<List<Project>>() {
             @Override
             public void apply(List<Project> result) throws OperationException {
                 if (result.isEmpty()) {
@@ -185,7 +185,7 @@ public class ImportApplicationPresenter extends ValidateAuthenticationPresenter
      *         namespace
      */
     private void getBuildConfigs(final String namespace) {
-        openShiftClient.getBuildConfigs(namespace).then(new Operation<List<BuildConfig>>() {
+        resourceStore.getBuildConfigs(namespace).then(new Operation<List<BuildConfig>>() {
             @Override
             public void apply(List<BuildConfig> result) throws OperationException {
                 buildConfigMap.put(namespace, result);
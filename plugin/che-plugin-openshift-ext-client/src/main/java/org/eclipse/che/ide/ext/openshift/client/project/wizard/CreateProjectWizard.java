@@ -11,7 +11,6 @@
 package org.eclipse.che.ide.ext.openshift.client.project.wizard;
 
 import com.google.common.base.Strings;
-import com.google.gwt.core.client.JsArrayMixed;
 import com.google.gwt.json.client.JSONObject;
 import com.google.gwt.json.client.JSONString;
 import com.google.gwt.json.client.JSONValue;
@@ -25,23 +24,22 @@ import org.eclipse.che.api.promises.client.OperationException;
 import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.api.promises.client.PromiseProvider;
-import org.eclipse.che.api.promises.client.js.Promises;
+import org.eclipse.che.api.promises.client.js.JsPromiseError;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.project.MutableProjectConfig;
 import org.eclipse.che.ide.api.wizard.AbstractWizard;
 import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
 import org.eclipse.che.ide.ext.openshift.client.dto.NewApplicationRequest;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BatchItemStatus;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildSource;
-import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
 import org.eclipse.che.ide.ext.openshift.shared.dto.GitBuildSource;
-import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Parameter;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Project;
-import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
-import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ResourceBatch;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
 
 import java.util.ArrayList;
@@ -66,6 +64,7 @@ public class CreateProjectWizard extends AbstractWizard<NewApplicationRequest> {
     private static final String APPLICATION_LABEL_NAME     = "application";
 
     private final OpenshiftServiceClient openshiftClient;
+    private final OpenshiftResourceStore resourceStore;
     private final DtoFactory             dtoFactory;
     private final AppContext             appContext;
     private       PromiseProvider        promises;
@@ -77,11 +76,13 @@ public class CreateProjectWizard extends AbstractWizard<NewApplicationRequest> {
     @Inject
     public CreateProjectWizard(@Assisted NewApplicationRequest newApplicationRequest,
                                OpenshiftServiceClient openshiftClient,
+                               OpenshiftResourceStore resourceStore,
                                DtoFactory dtoFactory,
                                AppContext appContext,
                                PromiseProvider promises) {
         super(newApplicationRequest);
         this.openshiftClient = openshiftClient;
+        this.resourceStore = resourceStore;
         this.dtoFactory = dtoFactory;
         this.appContext = appContext;
         this.promises = promises;
@@ -134,7 +135,7 @@ public class CreateProjectWizard extends AbstractWizard<NewApplicationRequest> {
 
             return promises.resolve(null);
         } else if (dataObject.getProjectRequest() != null) {
-            return openshiftClient.createProject(dataObject.getProjectRequest()).then(new Function<Project, Void>() {
+            return resourceStore.createProject(dataObject.getProjectRequest()).then(new Function<Project, Void>() {
                 @Override
                 public Void apply(Project project) throws FunctionException {
                     osProject = project;
@@ -168,19 +169,15 @@ public class CreateProjectWizard extends AbstractWizard<NewApplicationRequest> {
     private Promise<Void> processOSTemplateMeta() {
         checkNotNull(osTemplate);
 
-        final List<Promise<?>> promises = new ArrayList<>();
+        final String namespace = osProject.getMetadata().getName();
+        final List<Object> items = new ArrayList<>();
 
         for (Object o : osTemplate.getObjects()) {
             final JSONObject object = (JSONObject)o;
             final JSONValue metadata = object.get("metadata");
-            final String namespace = osProject.getMetadata().getName();
             ((JSONObject)metadata).put("namespace", new JSONString(namespace));
             final String kind = ((JSONString)object.get("kind")).stringValue();
             switch (kind) {
-                case "DeploymentConfig":
-                    DeploymentConfig dConfig = dtoFactory.createDtoFromJson(object.toString(), DeploymentConfig.class);
-                    promises.add(openshiftClient.createDeploymentConfig(dConfig));
-                    break;
                 case "BuildConfig":
                     BuildConfig bConfig = dtoFactory.createDtoFromJson(object.toString(), BuildConfig.class);
 
@@ -204,27 +201,38 @@ public class CreateProjectWizard extends AbstractWizard<NewApplicationRequest> {
                                                     .withLocation(gitSource.getUri())
                                                     .withParameters(importOptions));
 
-                    promises.add(openshiftClient.createBuildConfig(bConfig));
+                    items.add(object);
                     break;
+                case "DeploymentConfig":
                 case "ImageStream":
-                    ImageStream stream = dtoFactory.createDtoFromJson(object.toString(), ImageStream.class);
-                    promises.add(openshiftClient.createImageStream(stream));
-                    break;
                 case "Route":
-                    Route route = dtoFactory.createDtoFromJson(object.toString(), Route.class);
-                    promises.add(openshiftClient.createRoute(route));
-                    break;
                 case "Service":
-                    Service service = dtoFactory.createDtoFromJson(object.toString(), Service.class);
-                    promises.add(openshiftClient.createService(service));
+                    items.add(object);
                     break;
             }
         }
 
-        return Promises.all(promises.toArray(new Promise<?>[promises.size()])).then(new Function<JsArrayMixed, Void>() {
+        // all objects are created by one request, server creates image streams before objects which refer to them
+        final ResourceBatch batch = dtoFactory.createDto(ResourceBatch.class).withItems(items);
+        return openshiftClient.createResources(namespace, batch).thenPromise(new Function<List<BatchItemStatus>, Promise<Void>>() {
             @Override
-            public Void apply(JsArrayMixed result) throws FunctionException {
-                return null;
+            public Promise<Void> apply(List<BatchItemStatus> statuses) throws FunctionException {
+                resourceStore.invalidate(namespace);
+                for (BatchItemStatus status : statuses) {
+                    if (BatchItemStatus.FAILED.equals(status.getStatus())) {
+                        final String message = status.getKind() + " " + status.getName() + ": " + status.getMessage();
+                        return promises.reject(JsPromiseError.create(new IllegalStateException(message)));
+                    }
+                    // objects of another application, project must not be linked with them
+                    if (BatchItemStatus.EXISTS.equals(status.getStatus())
+                        && ("ImageStream".equals(status.getKind())
+                            || "BuildConfig".equals(status.getKind())
+                            || "DeploymentConfig".equals(status.getKind()))) {
+                        final String message = status.getKind() + " " + status.getName() + " already exists in project " + namespace;
+                        return promises.reject(JsPromiseError.create(new IllegalStateException(message)));
+                    }
+                }
+                return promises.resolve(null);
             }
         });
     }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.client.replication;
 
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -25,7 +26,7 @@ import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
-import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.config.ConfigPresenter;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ReplicationController;
 
@@ -44,19 +45,23 @@ import static org.eclipse.che.ide.api.notification.StatusNotification.Status.SUC
  */
 @Singleton
 public class ReplicationPresenter implements ConfigPresenter, ReplicationView.ActionDelegate {
+    /** Delay after the last click on +/- buttons before desired number of replicas is sent to the server */
+    private static final int SCALE_DELAY_MS = 500;
 
     private final ReplicationView               view;
-    private final OpenshiftServiceClient        service;
+    private final OpenshiftResourceStore        resourceStore;
     private final AppContext                    appContext;
     private final NotificationManager           notificationManager;
     private final OpenshiftLocalizationConstant locale;
     private final DtoFactory                    dtoFactory;
     private       int                           replicasNumber;
     private       ReplicationController         replicationController;
+    private final Timer                         scaleTimer;
+    private       boolean                       scaling;
 
     @Inject
     public ReplicationPresenter(ReplicationView view,
-                                OpenshiftServiceClient service,
+                                OpenshiftResourceStore resourceStore,
                                 AppContext appContext,
                                 NotificationManager notificationManager,
                                 OpenshiftLocalizationConstant locale,
@@ -64,13 +69,22 @@ public class ReplicationPresenter implements ConfigPresenter, ReplicationView.Ac
         this.appContext = appContext;
         this.notificationManager = notificationManager;
         this.locale = locale;
-        this.service = service;
+        this.resourceStore = resourceStore;
         this.view = view;
         this.dtoFactory = dtoFactory;
         this.view.setDelegate(this);
+        this.scaleTimer = new Timer() {
+            @Override
+            public void run() {
+                if (!scaling) {
+                    scale();
+                }
+            }
+        };
     }
 
     private void resetView() {
+        scaleTimer.cancel();
         replicasNumber = 0;
         view.setNoReplicaState(true);
         view.setReplicas(replicasNumber);
@@ -85,7 +99,7 @@ public class ReplicationPresenter implements ConfigPresenter, ReplicationView.Ac
         String namespace = project.getAttribute(OPENSHIFT_NAMESPACE_VARIABLE_NAME);
         String application = project.getAttribute(OPENSHIFT_APPLICATION_VARIABLE_NAME);
 
-        service.getReplicationControllers(namespace, application)
+        resourceStore.getReplicationControllers(namespace, application)
                .then(showReplicas())
                .catchError(onFail());
     }
@@ -149,19 +163,48 @@ public class ReplicationPresenter implements ConfigPresenter, ReplicationView.Ac
         updateReplicas(replicasNumber - 1);
     }
 
-    private void updateReplicas(final int replicas) {
-        replicationController.getSpec().setReplicas(replicas);
-        replicationController.getMetadata().setResourceVersion(null);
+    /**
+     * Shows new number of replicas immediately and sends it to the server when user stops clicking,
+     * so burst of clicks results in single request.
+     */
+    private void updateReplicas(int replicas) {
+        replicasNumber = replicas;
+        view.setReplicas(replicasNumber);
+        view.enableMinusButton(replicasNumber > 1);
+        scaleTimer.schedule(SCALE_DELAY_MS);
+    }
 
-        service.updateReplicationController(replicationController).then(new Operation<ReplicationController>() {
-            @Override
-            public void apply(ReplicationController arg) throws OperationException {
-                replicationController = arg;
-                replicasNumber = arg.getSpec().getReplicas();
-                view.setReplicas(replicasNumber);
-                view.enableMinusButton(replicasNumber > 1);
-                notificationManager.notify(locale.applicationConfigsScaledSuccess(replicasNumber), SUCCESS, EMERGE_MODE);
-            }
-        }).catchError(onFail());
+    private void scale() {
+        final int replicas = replicasNumber;
+        scaling = true;
+        resourceStore.scaleReplicationController(replicationController.getMetadata().getNamespace(),
+                                                 replicationController.getMetadata().getName(),
+                                                 replicas)
+                     .then(new Operation<ReplicationController>() {
+                         @Override
+                         public void apply(ReplicationController arg) throws OperationException {
+                             scaling = false;
+                             replicationController = arg;
+                             if (replicasNumber != replicas) {
+                                 // number of replicas was changed while request was in progress
+                                 if (!scaleTimer.isRunning()) {
+                                     scale();
+                                 }
+                                 return;
+                             }
+                             notificationManager.notify(locale.applicationConfigsScaledSuccess(replicas), SUCCESS, EMERGE_MODE);
+                         }
+                     })
+                     .catchError(new Operation<PromiseError>() {
+                         @Override
+                         public void apply(PromiseError arg) throws OperationException {
+                             scaling = false;
+                             scaleTimer.cancel();
+                             replicasNumber = replicationController.getSpec().getReplicas();
+                             view.setReplicas(replicasNumber);
+                             view.enableMinusButton(replicasNumber > 1);
+                             onFail().apply(arg);
+                         }
+                     });
     }
 }
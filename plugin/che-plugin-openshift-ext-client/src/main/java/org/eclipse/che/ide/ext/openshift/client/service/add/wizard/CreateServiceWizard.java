@@ -30,6 +30,7 @@ import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.api.wizard.AbstractWizard;
 import org.eclipse.che.ide.api.wizard.WizardPage;
 import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
 import org.eclipse.che.ide.ext.openshift.client.dto.NewServiceRequest;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Container;
@@ -56,6 +57,7 @@ import static org.eclipse.che.ide.ext.openshift.shared.OpenshiftProjectTypeConst
 public class CreateServiceWizard extends AbstractWizard<NewServiceRequest> {
 
     private final OpenshiftServiceClient client;
+    private final OpenshiftResourceStore resourceStore;
     private final AppContext             appContext;
     private final DtoFactory             dtoFactory;
 
@@ -66,10 +68,12 @@ public class CreateServiceWizard extends AbstractWizard<NewServiceRequest> {
     @Inject
     public CreateServiceWizard(@Assisted NewServiceRequest newServiceRequest,
                                OpenshiftServiceClient client,
+                               OpenshiftResourceStore resourceStore,
                                AppContext appContext,
                                DtoFactory dtoFactory) {
         super(newServiceRequest);
         this.client = client;
+        this.resourceStore = resourceStore;
         this.appContext = appContext;
         this.dtoFactory = dtoFactory;
     }
@@ -113,12 +117,12 @@ public class CreateServiceWizard extends AbstractWizard<NewServiceRequest> {
                         case "Service":
                             Service service = dtoFactory.createDtoFromJson(json.toString(), Service.class);
                             service.getMetadata().setNamespace(nameSpace);
-                            promiseList.add(client.createService(service));
+                            promiseList.add(resourceStore.createService(service));
                             break;
                         case "DeploymentConfig":
                             final DeploymentConfig deploymentConfig = dtoFactory.createDtoFromJson(json.toString(), DeploymentConfig.class);
                             deploymentConfig.getMetadata().setNamespace(nameSpace);
-                            Promise<JsArrayMixed> p = client.createDeploymentConfig(deploymentConfig)
+                            Promise<JsArrayMixed> p = resourceStore.createDeploymentConfig(deploymentConfig)
                                                             .thenPromise(linkApplicationDeloymentConfigsWithCreatedDeploymentConfig());
                             promiseList.add(p);
                             break;
@@ -135,7 +139,7 @@ public class CreateServiceWizard extends AbstractWizard<NewServiceRequest> {
             @Override
             public Promise<JsArrayMixed> apply(final DeploymentConfig serviceConfig) throws FunctionException {
                 String applicationName = cdProject.getName();
-                return client.getDeploymentConfigs(nameSpace, applicationName)
+                return resourceStore.getDeploymentConfigs(nameSpace, applicationName)
                              .then(new Function<List<DeploymentConfig>, List<DeploymentConfig>>() {
                                  @Override
                                  public List<DeploymentConfig> apply(List<DeploymentConfig> configs) throws FunctionException {
@@ -170,7 +174,7 @@ public class CreateServiceWizard extends AbstractWizard<NewServiceRequest> {
             public Promise<JsArrayMixed> apply(List<DeploymentConfig> configs) throws FunctionException {
                 List<Promise<?>> promiseList = new ArrayList<>();
                 for (DeploymentConfig config : configs) {
-                    Promise<DeploymentConfig> promise = client.updateDeploymentConfig(config);
+                    Promise<DeploymentConfig> promise = resourceStore.updateDeploymentConfig(config);
                     promiseList.add(promise);
                 }
                 Promise<?>[] promises = promiseList.toArray(new Promise<?>[promiseList.size()]);
@@ -29,7 +29,7 @@ import org.eclipse.che.ide.api.resources.Project;
 import org.eclipse.che.ide.api.resources.Resource;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.client.OpenshiftLocalizationConstant;
-import org.eclipse.che.ide.ext.openshift.client.OpenshiftServiceClient;
+import org.eclipse.che.ide.ext.openshift.client.OpenshiftResourceStore;
 import org.eclipse.che.ide.ext.openshift.client.config.ConfigPresenter;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
 
@@ -50,7 +50,7 @@ import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAI
 public class RouteConfigPresenter implements ConfigPresenter, RouteConfigView.ActionDelegate {
 
     private final RouteConfigView               view;
-    private final OpenshiftServiceClient        service;
+    private final OpenshiftResourceStore        resourceStore;
     private final AppContext                    appContext;
     private final NotificationManager           notificationManager;
     private final OpenshiftLocalizationConstant locale;
@@ -60,7 +60,7 @@ public class RouteConfigPresenter implements ConfigPresenter, RouteConfigView.Ac
 
     @Inject
     public RouteConfigPresenter(RouteConfigView view,
-                                OpenshiftServiceClient service,
+                                OpenshiftResourceStore resourceStore,
                                 AppContext appContext,
                                 NotificationManager notificationManager,
                                 OpenshiftLocalizationConstant locale,
@@ -68,7 +68,7 @@ public class RouteConfigPresenter implements ConfigPresenter, RouteConfigView.Ac
         this.appContext = appContext;
         this.notificationManager = notificationManager;
         this.locale = locale;
-        this.service = service;
+        this.resourceStore = resourceStore;
         this.view = view;
         this.dtoFactory = dtoFactory;
         this.view.setDelegate(this);
@@ -113,7 +113,7 @@ public class RouteConfigPresenter implements ConfigPresenter, RouteConfigView.Ac
             String newRouteUrl = routeUrls.get(i);
             if (!route.getSpec().getHost().equals(newRouteUrl)) {
                 route.getSpec().withHost(newRouteUrl);
-                promises.add(service.updateRoute(route));
+                promises.add(resourceStore.updateRoute(route));
             }
         }
 
@@ -137,7 +137,7 @@ public class RouteConfigPresenter implements ConfigPresenter, RouteConfigView.Ac
         final Project currentProject = resource.getRelatedProject().get();
         String namespace = currentProject.getAttribute(OPENSHIFT_NAMESPACE_VARIABLE_NAME);
         String application = currentProject.getAttribute(OPENSHIFT_APPLICATION_VARIABLE_NAME);
-        service.getRoutes(namespace, application)
+        resourceStore.getRoutes(namespace, application)
                .then(processRoutesToDisplay())
                .catchError(onFailure(locale.getRoutesError()));
     }
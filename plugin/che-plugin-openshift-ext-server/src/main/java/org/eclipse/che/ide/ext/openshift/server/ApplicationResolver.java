@@ -0,0 +1,331 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IProject;
+import com.openshift.restclient.model.IResource;
+
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Container;
+import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
+import org.eclipse.che.ide.ext.openshift.shared.dto.NamespaceApplications;
+import org.eclipse.che.ide.ext.openshift.shared.dto.NamedTagEventList;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ObjectReference;
+import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftApplication;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptyMap;
+import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
+
+/**
+ * Finds openshift objects which are related to build config of application.
+ *
+ * <p>Deployment configs, services and routes of namespace are fetched concurrently with build config
+ * and its output image stream, then they are joined by image stream tag reference, pod labels and service names.
+ *
+ * <p>Names of applications of all namespaces which are accessible to user are fetched concurrently by the same
+ * bounded pool, so user with many projects can't occupy more threads and connections than the pool has.
+ * They are cached per user until they expire or the user creates build configs or projects through workspace agent.
+ */
+@Singleton
+public class ApplicationResolver {
+    private final ClientFactory                              clientFactory;
+    private final ResourceListCache                          listCache;
+    private final ExecutorService                            executor;
+    private final long                                       listTimeoutMs;
+    private final Cache<String, List<NamespaceApplications>> token2applicationsCache;
+
+    @Inject
+    public ApplicationResolver(ClientFactory clientFactory,
+                               ResourceListCache listCache,
+                               @Named("che.openshift.application.threads") int threads,
+                               @Named("che.openshift.application.list_timeout_ms") long listTimeoutMs,
+                               @Named("che.openshift.application.list_cache.expire_after_write_sec") long listExpirationSec) {
+        this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.listTimeoutMs = listTimeoutMs;
+        this.token2applicationsCache = CacheBuilder.newBuilder()
+                                                   .maximumSize(1000)
+                                                   .expireAfterWrite(listExpirationSec, TimeUnit.SECONDS)
+                                                   .build();
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("OpenshiftApplicationResolver-%d")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+    }
+
+    /**
+     * Returns application which is built by build config with given name.
+     *
+     * @throws ConflictException
+     *         when build config doesn't output image to image stream tag or
+     *         when output image stream doesn't have the tag
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during fetching of openshift objects
+     */
+    public OpenshiftApplication resolve(String namespace, String buildConfigName) throws ConflictException,
+                                                                                         UnauthorizedException,
+                                                                                         ServerException {
+        final Future<List<DeploymentConfig>> deploymentConfigs = fetch(ResourceKind.DEPLOYMENT_CONFIG, namespace, DeploymentConfig.class);
+        final Future<List<Service>> services = fetch(ResourceKind.SERVICE, namespace, Service.class);
+        final Future<List<Route>> routes = fetch(ResourceKind.ROUTE, namespace, Route.class);
+        try {
+            final IClient client = clientFactory.getOpenshiftClient();
+            final BuildConfig buildConfig = toDto(BuildConfig.class, client.get(ResourceKind.BUILD_CONFIG, buildConfigName, namespace));
+
+            final ObjectReference output = buildConfig.getSpec().getOutput().getTo();
+            if (output == null || !ResourceKind.IMAGE_STREAM_TAG.equals(output.getKind())) {
+                throw new ConflictException("Build Config is related to non ImageStreamTag object");
+            }
+            // Parse image stream tag name that looks like 'myImageSteam:tagName'
+            final String[] split = output.getName().split(":");
+            if (split.length != 2) {
+                throw new ConflictException("BuildConfig has invalid image stream tag name " + output.getName());
+            }
+
+            final ImageStream imageStream = toDto(ImageStream.class, client.get(ResourceKind.IMAGE_STREAM, split[0], namespace));
+            final String imageStreamTagReference = getImageStreamTagReference(imageStream, split[0], split[1]);
+
+            final List<DeploymentConfig> applicationDeploymentConfigs = filterDeploymentConfigs(await(deploymentConfigs),
+                                                                                                imageStreamTagReference);
+            final List<Service> applicationServices = filterServices(await(services), applicationDeploymentConfigs);
+            final List<Route> applicationRoutes = filterRoutes(await(routes), applicationServices);
+
+            return DtoFactory.newDto(OpenshiftApplication.class)
+                             .withBuildConfig(buildConfig)
+                             .withOutputImageStream(imageStream)
+                             .withImageStreamTagReference(imageStreamTagReference)
+                             .withDeploymentConfigs(applicationDeploymentConfigs)
+                             .withServices(applicationServices)
+                             .withRoutes(applicationRoutes);
+        } finally {
+            deploymentConfigs.cancel(true);
+            services.cancel(true);
+            routes.cancel(true);
+        }
+    }
+
+    /**
+     * Returns names of applications grouped by namespaces which are accessible to current user.
+     *
+     * <p>Result is partial when applications of some namespaces can't be fetched in configured time or fetching fails,
+     * such namespaces are returned with error instead of applications. Only complete result is cached.
+     *
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during fetching of projects
+     */
+    public List<NamespaceApplications> getApplications() throws UnauthorizedException, ServerException {
+        final String token = clientFactory.getCurrentToken();
+        final List<NamespaceApplications> cached = token2applicationsCache.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        final IClient client = clientFactory.getOpenshiftClient();
+        final List<IProject> projects = client.list(ResourceKind.PROJECT);
+        final Map<String, Future<List<String>>> namespace2applications = new LinkedHashMap<>();
+        for (IProject project : projects) {
+            final String namespace = project.getName();
+            namespace2applications.put(namespace, executor.submit(() -> {
+                final List<IResource> buildConfigs = client.list(ResourceKind.BUILD_CONFIG, namespace);
+                return buildConfigs.stream()
+                                   .map(IResource::getName)
+                                   .collect(Collectors.toList());
+            }));
+        }
+
+        final long deadline = System.currentTimeMillis() + listTimeoutMs;
+        final List<NamespaceApplications> result = new ArrayList<>(namespace2applications.size());
+        boolean complete = true;
+        for (Map.Entry<String, Future<List<String>>> entry : namespace2applications.entrySet()) {
+            final NamespaceApplications applications = DtoFactory.newDto(NamespaceApplications.class).withNamespace(entry.getKey());
+            final Future<List<String>> future = entry.getValue();
+            try {
+                applications.setApplications(future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                namespace2applications.values().forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new ServerException("Interrupted while fetching openshift applications", e);
+            } catch (ExecutionException e) {
+                complete = false;
+                applications.setError(e.getCause().getLocalizedMessage());
+            } catch (TimeoutException e) {
+                complete = false;
+                future.cancel(true);
+                applications.setError("Applications of namespace " + entry.getKey() + " were not fetched in time");
+            }
+            result.add(applications);
+        }
+
+        if (complete) {
+            token2applicationsCache.put(token, result);
+        }
+        return result;
+    }
+
+    /**
+     * Drops cached names of applications of current user, so objects which the user has just created are not missed
+     * e.g. when name of new application is checked for uniqueness.
+     *
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during getting of access token
+     */
+    public void invalidateApplications() throws UnauthorizedException, ServerException {
+        token2applicationsCache.invalidate(clientFactory.getCurrentToken());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<List<T>> fetch(String kind, String namespace, Class<T> dtoClass) {
+        return executor.submit(ThreadLocalPropagateContext.wrap(() -> listCache.list(kind, namespace, emptyMap(), dtoClass)));
+    }
+
+    private static <T> T await(Future<T> future) throws UnauthorizedException, ServerException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while fetching openshift objects", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof UnauthorizedException) {
+                throw (UnauthorizedException)cause;
+            }
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new ServerException(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    /**
+     * Returns reference of image which is used by deployment configs of application.
+     *
+     * <p>If image stream doesn't have any tag yet then reference is 'imageStreamName:tagName',
+     * otherwise it is docker image reference of the latest image of the tag.
+     */
+    private static String getImageStreamTagReference(ImageStream imageStream, String imageStreamName, String tagName)
+            throws ConflictException {
+        final List<NamedTagEventList> tags = imageStream.getStatus().getTags();
+        if (tags.isEmpty()) {
+            return imageStreamName + ':' + tagName;
+        }
+        for (NamedTagEventList tag : tags) {
+            if (tagName.equals(tag.getTag())) {
+                if (tag.getItems().isEmpty()) {
+                    throw new ConflictException("Image stream " + imageStreamName + " has invalid tag " + tagName);
+                }
+                return tag.getItems().get(0).getDockerImageReference();
+            }
+        }
+        throw new ConflictException("Image stream " + imageStreamName + " does not have tag " + tagName);
+    }
+
+    /** Returns deployment configs which have container with given image, image without tag is treated as 'latest' */
+    private static List<DeploymentConfig> filterDeploymentConfigs(List<DeploymentConfig> deploymentConfigs, String imageStreamTagReference) {
+        final List<DeploymentConfig> filtered = new ArrayList<>();
+        for (DeploymentConfig deploymentConfig : deploymentConfigs) {
+            for (Container container : deploymentConfig.getSpec().getTemplate().getSpec().getContainers()) {
+                final String image = container.getImage();
+                if (imageStreamTagReference.equals(image.contains(":") ? image : image + ":latest")) {
+                    filtered.add(deploymentConfig);
+                    break;
+                }
+            }
+        }
+        return filtered;
+    }
+
+    /** Returns services which select pods by any label of pod template of given deployment configs */
+    private static List<Service> filterServices(List<Service> services, List<DeploymentConfig> deploymentConfigs) {
+        final Set<Map.Entry<String, String>> podLabels = new HashSet<>();
+        for (DeploymentConfig deploymentConfig : deploymentConfigs) {
+            for (Map.Entry<String, String> label : deploymentConfig.getSpec().getTemplate().getMetadata().getLabels().entrySet()) {
+                podLabels.add(new AbstractMap.SimpleImmutableEntry<>(label));
+            }
+        }
+        if (podLabels.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<Service> filtered = new ArrayList<>();
+        for (Service service : services) {
+            for (Map.Entry<String, String> selector : service.getSpec().getSelector().entrySet()) {
+                if (podLabels.contains(selector)) {
+                    filtered.add(service);
+                    break;
+                }
+            }
+        }
+        return filtered;
+    }
+
+    /** Returns routes which point to any of given services */
+    private static List<Route> filterRoutes(List<Route> routes, List<Service> services) {
+        final Set<String> serviceNames = services.stream()
+                                                 .map(service -> service.getMetadata().getName())
+                                                 .collect(Collectors.toSet());
+        if (serviceNames.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        final List<Route> filtered = new ArrayList<>();
+        for (Route route : routes) {
+            final ObjectReference to = route.getSpec().getTo();
+            if (to != null && ResourceKind.SERVICE.equals(to.getKind()) && serviceNames.contains(to.getName())) {
+                filtered.add(route);
+            }
+        }
+        return filtered;
+    }
+}
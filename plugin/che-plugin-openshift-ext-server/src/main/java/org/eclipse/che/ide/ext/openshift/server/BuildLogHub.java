@@ -0,0 +1,363 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BuildLog;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.UriBuilder;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Reads logs of builds from openshift server and serves them to any number of IDE sessions.
+ *
+ * <p>For each combination of user access token and build there is only one connection which follows log
+ * of the build. Lines of running build are kept in bounded ring buffer, so only the last lines of very long log
+ * are available. Lines of finished build are compressed in segments which are decompressed on reading.
+ * New lines are broadcast to websocket channel of log, IDE reads lines which were appended before subscription
+ * by range request.
+ */
+@Singleton
+public class BuildLogHub {
+    private static final Logger LOG = LoggerFactory.getLogger(BuildLogHub.class);
+
+    /** Number of lines of finished log which are compressed together */
+    private static final int  SEGMENT_LINES     = 1000;
+    /** Maximum number of lines sent to websocket channel in one message */
+    private static final int  MAX_MESSAGE_LINES = 500;
+    /** Maximum size of log which is read from openshift server */
+    private static final long LIMIT_BYTES       = 10 * 1024 * 1024;
+
+    private final ClientFactory                 clientFactory;
+    private final int                           maxLines;
+    private final Cache<LogKey, BuildLogBuffer> logs;
+    private final ExecutorService               executor;
+
+    @Inject
+    public BuildLogHub(ClientFactory clientFactory,
+                       @Named("che.openshift.build_log.max_lines") int maxLines,
+                       @Named("che.openshift.build_log.max_logs") long maxLogs,
+                       @Named("che.openshift.build_log.expire_after_access_sec") long expireAfterAccessSec) {
+        this.clientFactory = clientFactory;
+        this.maxLines = maxLines;
+        this.logs = CacheBuilder.newBuilder()
+                                .maximumSize(maxLogs)
+                                .expireAfterAccess(expireAfterAccessSec, TimeUnit.SECONDS)
+                                .removalListener((RemovalListener<LogKey, BuildLogBuffer>)n -> n.getValue().stop())
+                                .build();
+        // number of threads is limited by number of logs in cache, evicted log stops its thread
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("OpenshiftBuildLogReader-%d")
+                                                                                .setDaemon(true)
+                                                                                .build());
+    }
+
+    /**
+     * Returns lines of build log starting from line {@code from}, starts reading of log from openshift server
+     * if it is not read yet for current user.
+     *
+     * <p>Returned range starts from the first kept line if requested lines were already dropped from ring buffer.
+     *
+     * @param limit
+     *         maximum number of returned lines
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during getting of access token
+     */
+    public BuildLog read(String namespace, String build, long from, int limit) throws UnauthorizedException, ServerException {
+        final OpenshiftHttpClient httpClient = clientFactory.getHttpClient();
+        final LogKey key = new LogKey(clientFactory.getCurrentToken(), namespace, build);
+        final URL url = getLogUrl(namespace, build);
+
+        final BuildLogBuffer log;
+        try {
+            log = logs.get(key, () -> {
+                final BuildLogBuffer buffer = new BuildLogBuffer(namespace, build);
+                executor.execute(() -> buffer.read(httpClient, url));
+                return buffer;
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new ServerException(e.getCause().getLocalizedMessage(), e.getCause());
+        }
+
+        final BuildLog result = log.read(Math.max(from, 0), Math.max(Math.min(limit, maxLines), 0));
+        if (result.getError() != null) {
+            // error is returned once, next request reads log from scratch
+            logs.asMap().remove(key, log);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        logs.invalidateAll();
+    }
+
+    private URL getLogUrl(String namespace, String build) throws ServerException {
+        try {
+            return UriBuilder.fromPath(clientFactory.getClientInfo().getOpenshiftEndpoint())
+                             .path("/namespaces/{namespace}/builds/{build}/log")
+                             .queryParam("follow", true)
+                             .queryParam("limitBytes", LIMIT_BYTES)
+                             .build(namespace, build)
+                             .toURL();
+        } catch (MalformedURLException e) {
+            throw new ServerException("Unable to get build log. " + e.getMessage(), e);
+        }
+    }
+
+    /** Lines of log of one build */
+    private class BuildLogBuffer {
+        private final String namespace;
+        private final String build;
+        private final String channel;
+
+        /** Lines of running build, line {@code n} is stored at index {@code n % ring.length} */
+        private String[]     ring;
+        /** Compressed lines of finished build, segment {@code i} starts with line {@code first + i * SEGMENT_LINES} */
+        private List<byte[]> segments;
+        /** Number of the first line which is kept */
+        private long         first;
+        /** Number of the line which will be appended next */
+        private long         next;
+        private boolean      complete;
+        private String       error;
+
+        private volatile boolean     stopped;
+        private volatile InputStream stream;
+
+        BuildLogBuffer(String namespace, String build) {
+            this.namespace = namespace;
+            this.build = build;
+            this.channel = "openshift:build-log:" + namespace + '/' + build + ':' + UUID.randomUUID();
+            this.ring = new String[maxLines];
+        }
+
+        /** Reads log from openshift server until build is finished or reading is stopped */
+        void read(OpenshiftHttpClient httpClient, URL url) {
+            try (InputStream in = httpClient.openStream(url)) {
+                stream = in;
+                if (stopped) {
+                    return;
+                }
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                List<String> lines = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                    // send lines which are already received together, but don't wait for the next ones
+                    if (lines.size() >= MAX_MESSAGE_LINES || !reader.ready()) {
+                        append(lines);
+                        lines = new ArrayList<>();
+                    }
+                }
+                append(lines);
+                complete();
+            } catch (UnauthorizedException | ServerException | IOException e) {
+                if (!stopped) {
+                    LOG.debug("Unable to read log of build {} in namespace {}. {}", build, namespace, e.getMessage());
+                    fail(e.getLocalizedMessage());
+                }
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            final InputStream current = stream;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException ignored) {
+                }
+            }
+            synchronized (this) {
+                if (complete || error != null) {
+                    return;
+                }
+            }
+            // tell followers to request log again
+            fail("Reading of build log is stopped");
+        }
+
+        synchronized BuildLog read(long from, int limit) {
+            final long start = Math.max(from, first);
+            final long end = Math.min(next, start + limit);
+            final List<String> lines = new ArrayList<>();
+            if (segments != null) {
+                for (int i = (int)((start - first) / SEGMENT_LINES); i < segments.size(); i++) {
+                    final long segmentStart = first + (long)i * SEGMENT_LINES;
+                    if (segmentStart >= end) {
+                        break;
+                    }
+                    final List<String> segment = decompress(segments.get(i));
+                    for (int n = (int)Math.max(start - segmentStart, 0); n < segment.size() && segmentStart + n < end; n++) {
+                        lines.add(segment.get(n));
+                    }
+                }
+            } else {
+                for (long n = start; n < end; n++) {
+                    lines.add(ring[(int)(n % ring.length)]);
+                }
+            }
+            return newDto(BuildLog.class).withFrom(start)
+                                         .withLines(lines)
+                                         .withComplete(complete)
+                                         .withChannel(complete ? null : channel)
+                                         .withError(error);
+        }
+
+        private void append(List<String> lines) {
+            if (lines.isEmpty()) {
+                return;
+            }
+            final long from;
+            synchronized (this) {
+                from = next;
+                for (String line : lines) {
+                    ring[(int)(next % ring.length)] = line;
+                    next++;
+                }
+                first = Math.max(first, next - ring.length);
+            }
+            send(newDto(BuildLog.class).withFrom(from).withLines(lines));
+        }
+
+        private void complete() {
+            final long end;
+            synchronized (this) {
+                final List<byte[]> compressed = new ArrayList<>();
+                for (long start = first; start < next; start += SEGMENT_LINES) {
+                    compressed.add(compress(ring, start, Math.min(start + SEGMENT_LINES, next)));
+                }
+                segments = compressed;
+                ring = null;
+                complete = true;
+                end = next;
+            }
+            send(newDto(BuildLog.class).withFrom(end).withLines(Collections.emptyList()).withComplete(true));
+        }
+
+        private void fail(String message) {
+            final long end;
+            synchronized (this) {
+                error = message;
+                end = next;
+            }
+            send(newDto(BuildLog.class).withFrom(end).withLines(Collections.emptyList()).withError(message));
+        }
+
+        private void send(BuildLog log) {
+            final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+            message.setChannel(channel);
+            message.setBody(DtoFactory.getInstance().toJson(log));
+            try {
+                WSConnectionContext.sendMessage(message);
+            } catch (Exception e) {
+                LOG.warn("Unable to send log of build {} to channel {}. {}", build, channel, e.getMessage());
+            }
+        }
+    }
+
+    private static byte[] compress(String[] ring, long from, long to) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8)) {
+            for (long n = from; n < to; n++) {
+                writer.write(ring[(int)(n % ring.length)]);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            // stream is in memory, so it isn't expected
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<String> decompress(byte[] segment) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(segment)),
+                                                                              StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static final class LogKey {
+        private final String token;
+        private final String namespace;
+        private final String build;
+
+        LogKey(String token, String namespace, String build) {
+            this.token = token;
+            this.namespace = namespace;
+            this.build = build;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LogKey)) {
+                return false;
+            }
+            final LogKey other = (LogKey)obj;
+            return Objects.equals(token, other.token)
+                   && Objects.equals(namespace, other.namespace)
+                   && Objects.equals(build, other.build);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(token, namespace, build);
+        }
+    }
+}
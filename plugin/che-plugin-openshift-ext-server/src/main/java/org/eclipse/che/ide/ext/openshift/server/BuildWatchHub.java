@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.openshift.restclient.http.IHttpClient;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.UriBuilder;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches builds of openshift namespaces and sends their changes to IDE over websocket of workspace agent.
+ *
+ * <p>For each combination of user access token and namespace there is only one watch of openshift server,
+ * changes of builds are broadcast to websocket channel of the watch, so all IDE sessions of user share it.
+ * Broken watch is resumed from the last received resource version after jittered exponential backoff,
+ * builds are listed again only when openshift server no longer has changes since that version (410 Gone).
+ * Changes which were already sent are not sent again after relisting, builds which disappeared
+ * from the list are sent as deleted.
+ *
+ * <p>Subscription is a lease which should be renewed by IDE, watch which is not renewed in configured time is stopped.
+ */
+@Singleton
+public class BuildWatchHub {
+    private static final Logger LOG = LoggerFactory.getLogger(BuildWatchHub.class);
+
+    private static final long MIN_RECONNECT_DELAY_MS = 1000;
+
+    private final ClientFactory                     clientFactory;
+    private final long                              maxReconnectDelayMs;
+    private final Cache<WatchKey, NamespaceWatcher> watchers;
+    private final ScheduledExecutorService          scheduler;
+    private final ExecutorService                   executor;
+
+    @Inject
+    public BuildWatchHub(ClientFactory clientFactory,
+                         @Named("che.openshift.build_watch.lease_sec") long leaseSec,
+                         @Named("che.openshift.build_watch.max_reconnect_delay_ms") long maxReconnectDelayMs) {
+        this.clientFactory = clientFactory;
+        this.maxReconnectDelayMs = maxReconnectDelayMs;
+        this.watchers = CacheBuilder.newBuilder()
+                                    .expireAfterAccess(leaseSec, TimeUnit.SECONDS)
+                                    .removalListener((RemovalListener<WatchKey, NamespaceWatcher>)n -> n.getValue().stop())
+                                    .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("OpenshiftBuildWatchHub")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+        // expired watches are evicted only on access to cache, so clean it up regularly to stop watches nobody renews
+        this.scheduler.scheduleWithFixedDelay(watchers::cleanUp, leaseSec, leaseSec, TimeUnit.SECONDS);
+        // number of threads is limited by number of leased watches, expired watch stops its thread
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("OpenshiftBuildWatcher-%d")
+                                                                                .setDaemon(true)
+                                                                                .build());
+    }
+
+    /**
+     * Starts watching of builds of namespace for current user or renews existing watch.
+     *
+     * @return name of websocket channel to which changes of builds are sent
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during getting of access token
+     */
+    public String subscribe(String namespace) throws UnauthorizedException, ServerException {
+        final OpenshiftHttpClient httpClient = clientFactory.getHttpClient();
+        final WatchKey key = new WatchKey(clientFactory.getCurrentToken(), namespace);
+        final String buildsUrl = clientFactory.getClientInfo().getOpenshiftEndpoint() + "/namespaces/{namespace}/builds";
+        try {
+            return watchers.get(key, () -> {
+                final NamespaceWatcher watcher = new NamespaceWatcher(namespace, httpClient, buildsUrl);
+                watcher.start();
+                return watcher;
+            }).channel;
+        } catch (ExecutionException e) {
+            throw new ServerException(e.getCause().getLocalizedMessage(), e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        watchers.invalidateAll();
+        executor.shutdownNow();
+    }
+
+    /** Watch of builds of one namespace which broadcasts their changes to websocket channel */
+    private class NamespaceWatcher {
+        private final String              namespace;
+        private final OpenshiftHttpClient httpClient;
+        private final String              buildsUrl;
+        private final String              channel;
+        /** Resource versions of builds which were sent to channel, used for skipping of duplicated changes */
+        private final Map<String, String> sentVersions;
+
+        private volatile boolean     stopped;
+        private volatile Future<?>   task;
+        private volatile InputStream stream;
+
+        /** Resource version from which watch is resumed, {@code null} when builds should be listed again */
+        private String resourceVersion;
+        private long   reconnectDelayMs;
+
+        NamespaceWatcher(String namespace, OpenshiftHttpClient httpClient, String buildsUrl) {
+            this.namespace = namespace;
+            this.httpClient = httpClient;
+            this.buildsUrl = buildsUrl;
+            this.channel = "openshift:builds:" + namespace + ':' + UUID.randomUUID();
+            this.sentVersions = new ConcurrentHashMap<>();
+            this.reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+        }
+
+        void start() {
+            task = executor.submit(this::run);
+        }
+
+        void stop() {
+            stopped = true;
+            final InputStream currentStream = stream;
+            if (currentStream != null) {
+                try {
+                    currentStream.close();
+                } catch (IOException ignored) {
+                }
+            }
+            final Future<?> currentTask = task;
+            if (currentTask != null) {
+                currentTask.cancel(true);
+            }
+        }
+
+        private void run() {
+            while (!stopped) {
+                final long started = System.currentTimeMillis();
+                try {
+                    if (resourceVersion == null) {
+                        list();
+                    }
+                    if (resourceVersion != null) {
+                        watch();
+                    }
+                } catch (UnauthorizedException | ServerException | IOException | RuntimeException e) {
+                    if (stopped) {
+                        return;
+                    }
+                    if (e instanceof OpenshiftResponseException
+                        && ((OpenshiftResponseException)e).getResponseCode() == HttpURLConnection.HTTP_GONE) {
+                        // changes since the last resource version are no longer available
+                        resourceVersion = null;
+                    }
+                    LOG.debug("Watch of builds in namespace {} is broken. {}", namespace, e.getMessage());
+                }
+
+                // watch which was open for a while is resumed quickly, otherwise reconnection delay grows
+                if (System.currentTimeMillis() - started > reconnectDelayMs) {
+                    reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+                }
+                // full jitter, so watches broken at the same time don't reconnect all together
+                final long delay = ThreadLocalRandom.current().nextLong(reconnectDelayMs / 2, reconnectDelayMs + 1);
+                reconnectDelayMs = Math.min(reconnectDelayMs * 2, maxReconnectDelayMs);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        /** Lists builds, sends changed ones and remembers resource version of list */
+        private void list() throws UnauthorizedException, ServerException, IOException {
+            final JsonObject list = new JsonParser().parse(httpClient.get(getUrl(null), IHttpClient.DEFAULT_READ_TIMEOUT))
+                                                    .getAsJsonObject();
+            final Set<String> names = new HashSet<>();
+            if (list.has("items") && list.get("items").isJsonArray()) {
+                for (JsonElement item : list.getAsJsonArray("items")) {
+                    final JsonObject build = item.getAsJsonObject();
+                    final String name = getMetadata(build, "name");
+                    names.add(name);
+                    send(build, sentVersions.containsKey(name) ? "MODIFIED" : "ADDED");
+                }
+            }
+            // builds deleted while watch was broken
+            for (String name : new HashSet<>(sentVersions.keySet())) {
+                if (!names.contains(name)) {
+                    sendDeleted(name);
+                }
+            }
+            resourceVersion = getString(list.getAsJsonObject("metadata"), "resourceVersion");
+        }
+
+        /** Receives changes of builds until openshift server closes watch */
+        private void watch() throws UnauthorizedException, ServerException, IOException {
+            try (InputStream in = httpClient.openStream(getUrl(resourceVersion))) {
+                stream = in;
+                if (stopped) {
+                    return;
+                }
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                final JsonParser parser = new JsonParser();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    final JsonObject event = parser.parse(line).getAsJsonObject();
+                    final String type = getString(event, "type");
+                    final JsonObject object = event.getAsJsonObject("object");
+                    if ("ERROR".equals(type)) {
+                        final JsonElement code = object.get("code");
+                        throw new OpenshiftResponseException(code == null ? 0 : code.getAsInt(),
+                                                             "Watch is closed. " + getString(object, "message"));
+                    }
+                    resourceVersion = getMetadata(object, "resourceVersion");
+                    if ("DELETED".equals(type)) {
+                        sentVersions.remove(getMetadata(object, "name"));
+                        broadcast(object, type);
+                    } else {
+                        send(object, type);
+                    }
+                }
+            } finally {
+                stream = null;
+            }
+        }
+
+        private URL getUrl(String resourceVersion) throws ServerException {
+            final UriBuilder uriBuilder = UriBuilder.fromPath(buildsUrl);
+            if (resourceVersion != null) {
+                uriBuilder.queryParam("watch", true).queryParam("resourceVersion", resourceVersion);
+            }
+            try {
+                return uriBuilder.build(namespace).toURL();
+            } catch (MalformedURLException e) {
+                throw new ServerException("Unable to watch builds. " + e.getMessage(), e);
+            }
+        }
+
+        /** Sends change of build unless the same version of it was already sent */
+        private void send(JsonObject build, String type) {
+            final String name = getMetadata(build, "name");
+            final String resourceVersion = getMetadata(build, "resourceVersion");
+            if (resourceVersion != null && resourceVersion.equals(sentVersions.put(name, resourceVersion))) {
+                return;
+            }
+            broadcast(build, type);
+        }
+
+        /** Sends deletion of build which was deleted while watch was broken, only its name is known */
+        private void sendDeleted(String name) {
+            sentVersions.remove(name);
+            final JsonObject metadata = new JsonObject();
+            metadata.addProperty("name", name);
+            metadata.addProperty("namespace", namespace);
+            final JsonObject build = new JsonObject();
+            build.addProperty("kind", "Build");
+            build.add("metadata", metadata);
+            broadcast(build, "DELETED");
+        }
+
+        private void broadcast(JsonObject build, String type) {
+            final String name = getMetadata(build, "name");
+            final JsonObject event = new JsonObject();
+            event.addProperty("type", type);
+            event.add("object", DtoFactory.getInstance().toJsonElement(DtoFactory.getInstance().createDtoFromJson(build, Build.class)));
+
+            final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+            message.setChannel(channel);
+            message.setBody(event.toString());
+            try {
+                WSConnectionContext.sendMessage(message);
+            } catch (Exception e) {
+                LOG.warn("Unable to send change of build {} to channel {}. {}", name, channel, e.getMessage());
+            }
+        }
+    }
+
+    private static String getMetadata(JsonObject object, String property) {
+        final JsonElement metadata = object.get("metadata");
+        return metadata != null && metadata.isJsonObject() ? getString(metadata.getAsJsonObject(), property) : null;
+    }
+
+    private static String getString(JsonObject object, String property) {
+        final JsonElement value = object == null ? null : object.get(property);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    private static final class WatchKey {
+        private final String token;
+        private final String namespace;
+
+        WatchKey(String token, String namespace) {
+            this.token = token;
+            this.namespace = namespace;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof WatchKey)) {
+                return false;
+            }
+            final WatchKey other = (WatchKey)obj;
+            return Objects.equals(token, other.token) && Objects.equals(namespace, other.namespace);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(token, namespace);
+        }
+    }
+}
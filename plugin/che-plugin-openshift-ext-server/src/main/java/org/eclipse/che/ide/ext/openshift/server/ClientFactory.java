@@ -10,29 +10,41 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.server;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.openshift.internal.restclient.OpenShiftAPIVersion;
-import com.openshift.internal.restclient.http.UrlConnectionHttpClientBuilder;
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.NoopSSLCertificateCallback;
 import com.openshift.restclient.authorization.TokenAuthorizationStrategy;
-import com.openshift.restclient.http.IHttpClient;
 
 import org.eclipse.che.api.auth.shared.dto.OAuthToken;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.server.jfr.OpenshiftEvents;
+import org.eclipse.che.ide.ext.openshift.server.jfr.RecordedCall;
 import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftServerInfo;
 import org.eclipse.che.security.oauth.RemoteOAuthTokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.api.client.repackaged.com.google.common.base.Strings.isNullOrEmpty;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -42,34 +54,156 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
  */
 @Singleton
 public class ClientFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(ClientFactory.class);
+
+    /** Time during which failure of getting information about openshift server is returned without requesting it again */
+    private static final long SERVER_INFO_RETRY_MS = TimeUnit.SECONDS.toMillis(10);
+
     private final LoadingCache<String, IClient> token2clientCache;
+    private final LoadingCache<String, String>  user2tokenCache;
     private final String                        openshiftApiEndpoint;
     private final RemoteOAuthTokenProvider      provider;
-    /** Client instance without specified token for providing information about openshift server */
-    private final IClient                       infoClient;
+    private final HttpConnectionPool            connectionPool;
+    private final OpenshiftMetrics              metrics;
+    /** Client instance without specified token for providing information about openshift server, created on first use */
+    private final Supplier<IClient>             infoClient;
+    private final long                          serverInfoRefreshMs;
+    private final ExecutorService               serverInfoExecutor;
+    private final AtomicBoolean                 serverInfoRefreshing;
+    private final Object                        serverInfoLock;
+
+    private volatile OpenshiftServerInfo serverInfo;
+    private volatile long                serverInfoLoadedAt;
+    private volatile ServerException     serverInfoError;
+    private volatile long                serverInfoFailedAt;
 
     @Inject
     public ClientFactory(@Named("che.openshift.api.endpoint") String openshiftApiEndpoint,
-                         RemoteOAuthTokenProvider provider) {
+                         @Named("che.openshift.token_cache.expire_after_write_sec") long tokenExpirationSec,
+                         @Named("che.openshift.server_info.refresh_period_sec") long serverInfoRefreshSec,
+                         RemoteOAuthTokenProvider provider,
+                         HttpConnectionPool connectionPool,
+                         OpenshiftMetrics metrics) {
         this.openshiftApiEndpoint = openshiftApiEndpoint;
         this.provider = provider;
+        this.connectionPool = connectionPool;
+        this.metrics = metrics;
         this.token2clientCache = CacheBuilder.newBuilder()
                                              .maximumSize(1000)
                                              .expireAfterAccess(10, TimeUnit.MINUTES)
+                                             .recordStats()
                                              .build(new CacheLoader<String, IClient>() {
                                                  @Override
                                                  public IClient load(String token) throws Exception {
                                                      return createClient(token);
                                                  }
                                              });
-        this.infoClient = new com.openshift.restclient.ClientFactory().create(openshiftApiEndpoint, new NoopSSLCertificateCallback());
+        this.user2tokenCache = CacheBuilder.newBuilder()
+                                           .maximumSize(1000)
+                                           .expireAfterWrite(tokenExpirationSec, TimeUnit.SECONDS)
+                                           .recordStats()
+                                           .build(new CacheLoader<String, String>() {
+                                               @Override
+                                               public String load(String userId) throws Exception {
+                                                   return fetchToken(userId);
+                                               }
+                                           });
+        this.infoClient = Suppliers.memoize(() -> new com.openshift.restclient.ClientFactory().create(openshiftApiEndpoint,
+                                                                                                      new NoopSSLCertificateCallback()));
+        this.serverInfoRefreshMs = TimeUnit.SECONDS.toMillis(serverInfoRefreshSec);
+        this.serverInfoExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("OpenshiftServerInfo-%d")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+        this.serverInfoRefreshing = new AtomicBoolean();
+        this.serverInfoLock = new Object();
+        metrics.registerCache("token", user2tokenCache::stats);
+        metrics.registerCache("client", token2clientCache::stats);
+        // information about openshift server is requested in background, so start of workspace agent doesn't wait for it
+        refreshClientInfo();
+    }
+
+    /**
+     * Returns information about openshift server.
+     *
+     * <p>Information is requested from openshift server once and then it is refreshed in background periodically.
+     * Until information is received calls wait for the request which is in progress, failure of it is returned
+     * without new request to openshift server during {@link #SERVER_INFO_RETRY_MS}.
+     *
+     * @throws ServerException
+     *         when information wasn't received yet and openshift server is not available
+     */
+    public OpenshiftServerInfo getClientInfo() throws ServerException {
+        OpenshiftServerInfo info = serverInfo;
+        if (info == null) {
+            checkServerInfoFailure();
+            synchronized (serverInfoLock) {
+                info = serverInfo;
+                if (info == null) {
+                    // calls which waited for the failed request don't repeat it
+                    checkServerInfoFailure();
+                    info = fetchClientInfo();
+                }
+            }
+        } else if (System.currentTimeMillis() - serverInfoLoadedAt > serverInfoRefreshMs) {
+            refreshClientInfo();
+        }
+        return DtoFactory.getInstance().clone(info);
+    }
+
+    @PreDestroy
+    public void stop() {
+        serverInfoExecutor.shutdownNow();
+    }
+
+    private void refreshClientInfo() {
+        if (!serverInfoRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            serverInfoExecutor.execute(() -> {
+                try {
+                    synchronized (serverInfoLock) {
+                        fetchClientInfo();
+                    }
+                } catch (ServerException e) {
+                    LOG.warn(e.getMessage());
+                } finally {
+                    serverInfoRefreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            serverInfoRefreshing.set(false);
+        }
     }
 
-    public OpenshiftServerInfo getClientInfo() {
-        final String openShiftAPIVersion = infoClient.getOpenShiftAPIVersion();
-        final String openshiftEndpoint = (OpenShiftAPIVersion.v1beta3.toString().equals(openShiftAPIVersion) ? "osapi" : "oapi") +
-                                         "/" + openShiftAPIVersion;
-        return newDto(OpenshiftServerInfo.class).withOpenshiftEndpoint(normalize(infoClient.getBaseURL().toString()) + openshiftEndpoint);
+    private void checkServerInfoFailure() throws ServerException {
+        final ServerException error = serverInfoError;
+        if (error != null && System.currentTimeMillis() - serverInfoFailedAt < SERVER_INFO_RETRY_MS) {
+            throw new ServerException(error.getMessage(), error);
+        }
+    }
+
+    private OpenshiftServerInfo fetchClientInfo() throws ServerException {
+        final OpenshiftServerInfo info;
+        try {
+            final IClient client = infoClient.get();
+            final String openShiftAPIVersion = client.getOpenShiftAPIVersion();
+            final String openshiftEndpoint = (OpenShiftAPIVersion.v1beta3.toString().equals(openShiftAPIVersion) ? "osapi" : "oapi") +
+                                             "/" + openShiftAPIVersion;
+            final String baseUrl = normalize(client.getBaseURL().toString());
+            info = newDto(OpenshiftServerInfo.class).withOpenshiftEndpoint(baseUrl + openshiftEndpoint)
+                                                    .withKubernetesEndpoint(baseUrl + "api/" + openShiftAPIVersion);
+        } catch (RuntimeException e) {
+            final ServerException error = new ServerException("Unable to get information about openshift server "
+                                                              + openshiftApiEndpoint + ". " + e.getMessage(), e);
+            serverInfoFailedAt = System.currentTimeMillis();
+            serverInfoError = error;
+            throw error;
+        }
+        serverInfo = info;
+        serverInfoLoadedAt = System.currentTimeMillis();
+        serverInfoError = null;
+        return info;
     }
 
     /**
@@ -88,33 +222,103 @@ public class ClientFactory {
      *         when some exception occurs during getting of access token
      */
     public IClient getOpenshiftClient() throws UnauthorizedException, ServerException {
+        final RecordedCall event = OpenshiftEvents.clientAcquisition();
         try {
-            final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
-            return token2clientCache.get(getToken(userId));
-        } catch (ExecutionException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof UnauthorizedException) {
-                throw ((UnauthorizedException)cause);
-            } else if (cause instanceof ServerException) {
-                throw ((ServerException)cause);
+            final String token = getToken(currentUserId());
+            final long start = System.nanoTime();
+            try {
+                return token2clientCache.get(token);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof UnauthorizedException) {
+                    throw ((UnauthorizedException)cause);
+                } else if (cause instanceof ServerException) {
+                    throw ((ServerException)cause);
+                }
+                throw new RuntimeException(e.getLocalizedMessage(), e);
+            } finally {
+                RequestTiming.record(RequestTiming.Phase.CLIENT, System.nanoTime() - start);
             }
-            throw new RuntimeException(e.getLocalizedMessage(), e);
+        } finally {
+            event.complete(null, null, "getOpenshiftClient", RecordedCall.UNKNOWN_SIZE);
         }
     }
 
     /**
-     * Returns instance of IHttpClient for working with openshift server for current user
+     * Returns http client for working with openshift server for current user.
+     * Returned client shares keep-alive connections with clients of other users through {@link HttpConnectionPool}
      *
      * @throws UnauthorizedException
      *         when user did not have access token to openshift server
      * @throws ServerException
      *         when some exception occurs during getting of access token
      */
-    public IHttpClient getHttpClient() throws UnauthorizedException, ServerException {
-        return newIHttpClient(EnvironmentContext.getCurrent().getSubject().getUserId());
+    public OpenshiftHttpClient getHttpClient() throws UnauthorizedException, ServerException {
+        final RecordedCall event = OpenshiftEvents.clientAcquisition();
+        try {
+            final String userId = currentUserId();
+            return new OpenshiftHttpClient(connectionPool, getToken(userId), () -> invalidateToken(userId));
+        } finally {
+            event.complete(null, null, "getHttpClient", RecordedCall.UNKNOWN_SIZE);
+        }
+    }
+
+    /**
+     * Drops cached access token of current user together with the client bound to it,
+     * so the next call fetches fresh token from the OAuth token provider.
+     * Should be called when openshift server rejects the token.
+     */
+    public void invalidateToken() {
+        invalidateToken(currentUserId());
+    }
+
+    private void invalidateToken(String userId) {
+        final String token = user2tokenCache.getIfPresent(userId);
+        user2tokenCache.invalidate(userId);
+        if (token != null) {
+            token2clientCache.invalidate(token);
+        }
+    }
+
+    /** Returns hit/miss statistics of the access token cache */
+    public CacheStats getTokenCacheStats() {
+        return user2tokenCache.stats();
+    }
+
+    /**
+     * Returns access token of current user, it defines scope of resources which are visible to the user
+     *
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during getting of access token
+     */
+    String getCurrentToken() throws UnauthorizedException, ServerException {
+        return getToken(currentUserId());
+    }
+
+    private String currentUserId() {
+        return EnvironmentContext.getCurrent().getSubject().getUserId();
     }
 
     private String getToken(String userId) throws ServerException, UnauthorizedException {
+        final long start = System.nanoTime();
+        try {
+            return user2tokenCache.get(userId);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof UnauthorizedException) {
+                throw ((UnauthorizedException)cause);
+            } else if (cause instanceof ServerException) {
+                throw ((ServerException)cause);
+            }
+            throw new RuntimeException(e.getLocalizedMessage(), e);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.TOKEN, System.nanoTime() - start);
+        }
+    }
+
+    private String fetchToken(String userId) throws ServerException, UnauthorizedException {
         final OAuthToken token;
         try {
             token = provider.getToken("openshift", userId);
@@ -129,16 +333,9 @@ public class ClientFactory {
         return token.getToken();
     }
 
-    private IHttpClient newIHttpClient(String userId) throws ServerException, UnauthorizedException {
-        return new UrlConnectionHttpClientBuilder().setAcceptMediaType("application/json")
-                                                   .setSSLCertificateCallback(new NoopSSLCertificateCallback())
-                                                   .setAuthorizationStrategy(new TokenAuthorizationStrategy(getToken(userId)))
-                                                   .client();
-    }
-
     private IClient createClient(String token) throws UnauthorizedException, ServerException {
         IClient client = new com.openshift.restclient.ClientFactory().create(openshiftApiEndpoint, new NoopSSLCertificateCallback());
         client.setAuthorizationStrategy(new TokenAuthorizationStrategy(token));
-        return client;
+        return metrics.instrument(client);
     }
 }
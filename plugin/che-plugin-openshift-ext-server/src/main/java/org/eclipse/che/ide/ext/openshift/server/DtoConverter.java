@@ -10,24 +10,99 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.server;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.openshift.internal.restclient.model.KubernetesResource;
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.model.IResource;
 
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.dto.server.DtoFactory;
-
-import javax.inject.Inject;
+import org.eclipse.che.ide.ext.openshift.server.jfr.OpenshiftEvents;
+import org.eclipse.che.ide.ext.openshift.server.jfr.RecordedCall;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 
 /**
  * @author Sergii Leschenko
  */
 public class DtoConverter {
+    /**
+     * Converts openshift resource to DTO.
+     *
+     * <p>Model of resource is converted to DTO directly without intermediate JSON text,
+     * which saves serialization and parsing of the whole resource for each item of list responses.
+     */
     public static <T> T toDto(Class<T> convertTo, IResource resource) {
-        return DtoFactory.getInstance().createDtoFromJson(resource.toJson(true), convertTo);
+        final RecordedCall event = OpenshiftEvents.conversion();
+        final long start = System.nanoTime();
+        long payloadBytes = RecordedCall.UNKNOWN_SIZE;
+        try {
+            if (resource instanceof KubernetesResource) {
+                return DtoFactory.getInstance().createDtoFromJson(toJsonElement(((KubernetesResource)resource).getNode()), convertTo);
+            }
+            final String json = resource.toJson(true);
+            payloadBytes = json.length();
+            return DtoFactory.getInstance().createDtoFromJson(json, convertTo);
+        } finally {
+            event.complete(resource.getKind(), resource.getNamespace(), "toDto " + convertTo.getSimpleName(), payloadBytes);
+            RequestTiming.recordConversion(resource.getKind(), System.nanoTime() - start);
+        }
     }
 
+    /**
+     * Converts DTO to openshift resource.
+     *
+     * <p>Resource factory of openshift client accepts only JSON text, so DTO is serialized in compact form once.
+     */
     public static <DTO, T extends IResource> T toOpenshiftResource(IClient client, DTO dto) throws UnauthorizedException, ServerException {
-        return client.getResourceFactory().create(dto.toString());
+        final RecordedCall event = OpenshiftEvents.conversion();
+        final String json = dto.toString();
+        final T resource = client.getResourceFactory().create(json);
+        event.complete(resource.getKind(), resource.getNamespace(), "toOpenshiftResource", json.length());
+        return resource;
+    }
+
+    /** Builds JSON tree which is equal to compact JSON representation of the given model node */
+    static JsonElement toJsonElement(ModelNode node) {
+        switch (node.getType()) {
+            case OBJECT:
+                final JsonObject object = new JsonObject();
+                for (Property property : node.asPropertyList()) {
+                    object.add(property.getName(), toJsonElement(property.getValue()));
+                }
+                return object;
+            case PROPERTY:
+                final Property property = node.asProperty();
+                final JsonObject propertyObject = new JsonObject();
+                propertyObject.add(property.getName(), toJsonElement(property.getValue()));
+                return propertyObject;
+            case LIST:
+                final JsonArray array = new JsonArray();
+                for (ModelNode item : node.asList()) {
+                    array.add(toJsonElement(item));
+                }
+                return array;
+            case BOOLEAN:
+                return new JsonPrimitive(node.asBoolean());
+            case INT:
+                return new JsonPrimitive(node.asInt());
+            case LONG:
+                return new JsonPrimitive(node.asLong());
+            case DOUBLE:
+                return new JsonPrimitive(node.asDouble());
+            case BIG_DECIMAL:
+                return new JsonPrimitive(node.asBigDecimal());
+            case BIG_INTEGER:
+                return new JsonPrimitive(node.asBigInteger());
+            case UNDEFINED:
+                return JsonNull.INSTANCE;
+            default:
+                return new JsonPrimitive(node.asString());
+        }
     }
 }
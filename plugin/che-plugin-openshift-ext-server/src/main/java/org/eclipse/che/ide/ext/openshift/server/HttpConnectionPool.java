@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.ApacheHttpTransport;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.ide.ext.openshift.server.jfr.OpenshiftEvents;
+import org.eclipse.che.ide.ext.openshift.server.jfr.RecordedCall;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of keep-alive connections to openshift server which is shared between all users.
+ *
+ * <p>All connections are opened through the single {@link SSLSocketFactory}, so TLS sessions are resumed
+ * and idle sockets are reused by the JDK keep-alive cache instead of being opened for each request.
+ * Number of concurrently leased connections is limited, requests that can't get connection
+ * in configured time are rejected.
+ *
+ * <p>{@link HttpURLConnection} doesn't support PATCH method, requests with body are sent through
+ * apache http transport of google http client which supports any method. They lease connections
+ * of the same pool, so limit of concurrent connections applies to them as well.
+ */
+@Singleton
+public class HttpConnectionPool {
+    private static final Logger LOG = LoggerFactory.getLogger(HttpConnectionPool.class);
+
+    private final SSLSocketFactory sslSocketFactory;
+    private final HttpTransport    transport;
+    private final Semaphore        permits;
+    private final int              maxConnections;
+    private final long             acquireTimeoutMs;
+    private final int              connectTimeoutMs;
+    private final AtomicInteger    pending;
+    private final AtomicLong       requests;
+    private final AtomicLong       rejected;
+    private final OpenshiftMetrics metrics;
+
+    @Inject
+    public HttpConnectionPool(@Named("che.openshift.http.max_connections") int maxConnections,
+                              @Named("che.openshift.http.acquire_timeout_ms") long acquireTimeoutMs,
+                              @Named("che.openshift.http.connect_timeout_ms") int connectTimeoutMs,
+                              @Named("che.openshift.http.ssl_session_timeout_sec") int sslSessionTimeoutSec,
+                              OpenshiftMetrics metrics) {
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.permits = new Semaphore(maxConnections, true);
+        this.pending = new AtomicInteger();
+        this.requests = new AtomicLong();
+        this.rejected = new AtomicLong();
+        this.sslSocketFactory = createSSLSocketFactory(sslSessionTimeoutSec);
+        this.transport = createTransport();
+        this.metrics = metrics;
+        metrics.registerGauge("openshift_http_connections_leased", "Leased connections to openshift server", this::getLeased);
+        metrics.registerGauge("openshift_http_connections_pending", "Requests waiting for free connection", this::getPending);
+        metrics.registerGauge("openshift_http_connections_max", "Maximum number of connections", this::getMaxConnections);
+        metrics.registerCounter("openshift_http_requests_total", "Requests performed through connection pool", this::getRequests);
+        metrics.registerCounter("openshift_http_rejected_total", "Requests rejected by saturated connection pool", this::getRejected);
+    }
+
+    /**
+     * Performs GET request with given access token and returns body of response.
+     *
+     * @throws UnauthorizedException
+     *         when openshift server rejects the token
+     * @throws ServerException
+     *         when there is no free connection or request fails
+     * @throws IOException
+     *         when some I/O error occurs, e.g. read timeout
+     */
+    public String get(URL url, String token, int readTimeoutMs) throws UnauthorizedException, ServerException, IOException {
+        return request("GET", url, token, readTimeoutMs, null, null);
+    }
+
+    /**
+     * Performs GET request with given access token and returns stream of response body, e.g. followed build log.
+     *
+     * <p>Such streams may be open for a long time, so they don't lease connection of the pool,
+     * caller is responsible for limiting of their number and for closing of them.
+     *
+     * @throws UnauthorizedException
+     *         when openshift server rejects the token
+     * @throws ServerException
+     *         when request fails
+     * @throws IOException
+     *         when some I/O error occurs
+     */
+    public InputStream openStream(URL url, String token) throws UnauthorizedException, ServerException, IOException {
+        requests.incrementAndGet();
+        return connect(url, token, 0, "text/plain").getInputStream();
+    }
+
+    /**
+     * Performs PATCH request with given access token and body of given content type, e.g. json merge patch,
+     * and returns body of response.
+     *
+     * @throws UnauthorizedException
+     *         when openshift server rejects the token
+     * @throws OpenshiftResponseException
+     *         when openshift server responds with error status
+     * @throws ServerException
+     *         when there is no free connection or request fails
+     * @throws IOException
+     *         when some I/O error occurs, e.g. read timeout
+     */
+    public String patch(URL url, String token, String contentType, String body, int readTimeoutMs) throws UnauthorizedException,
+                                                                                                           ServerException,
+                                                                                                           IOException {
+        return request("PATCH", url, token, readTimeoutMs, contentType, body);
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            transport.shutdown();
+        } catch (IOException e) {
+            LOG.warn("Unable to shutdown http transport. " + e.getMessage(), e);
+        }
+    }
+
+    /** Returns maximum number of concurrently leased connections */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /** Returns number of currently leased connections */
+    public int getLeased() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    /** Returns number of requests which are waiting for free connection */
+    public int getPending() {
+        return pending.get();
+    }
+
+    /** Returns total number of requests performed through the pool */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /** Returns number of requests rejected because pool was saturated */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private String request(String method,
+                           URL url,
+                           String token,
+                           int readTimeoutMs,
+                           String contentType,
+                           String body) throws UnauthorizedException, ServerException, IOException {
+        requests.incrementAndGet();
+        acquire(url);
+        final String resource = OpenshiftMetrics.resourceOf(url);
+        final RecordedCall event = OpenshiftEvents.upstreamCall();
+        final long start = System.nanoTime();
+        long payloadBytes = RecordedCall.UNKNOWN_SIZE;
+        boolean failed = true;
+        try {
+            final byte[] response = body == null ? receive(url, token, readTimeoutMs) : send(method, url, token, readTimeoutMs, contentType, body);
+            payloadBytes = response.length;
+            metrics.responsePayload(resource, response.length);
+            failed = false;
+            return new String(response, StandardCharsets.UTF_8);
+        } finally {
+            permits.release();
+            final long duration = System.nanoTime() - start;
+            metrics.upstreamCall(resource, method, duration, failed);
+            RequestTiming.record(RequestTiming.Phase.UPSTREAM, duration);
+            event.complete(resource, OpenshiftMetrics.namespaceOf(url), method, payloadBytes);
+        }
+    }
+
+    private void acquire(URL url) throws ServerException {
+        pending.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                LOG.warn("Connection pool to openshift server is saturated: {} connections leased, {} requests pending. Request to {} rejected",
+                         getLeased(), pending.get(), url.getPath());
+                throw new ServerException("There is no free connection to openshift server, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for connection to openshift server", e);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private byte[] receive(URL url, String token, int readTimeoutMs) throws UnauthorizedException, ServerException, IOException {
+        // Body should be fully read and stream closed (not connection disconnected) to give socket back to keep-alive cache
+        try (InputStream in = connect(url, token, readTimeoutMs, "application/json").getInputStream()) {
+            return readBytes(in);
+        }
+    }
+
+    private byte[] send(String method,
+                        URL url,
+                        String token,
+                        int readTimeoutMs,
+                        String contentType,
+                        String body) throws UnauthorizedException, ServerException, IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        metrics.requestPayload(OpenshiftMetrics.resourceOf(url), bytes.length);
+        final HttpRequest request = transport.createRequestFactory()
+                                             .buildRequest(method, new GenericUrl(url), new ByteArrayContent(contentType, bytes))
+                                             .setConnectTimeout(connectTimeoutMs)
+                                             .setReadTimeout(readTimeoutMs)
+                                             .setNumberOfRetries(0)
+                                             .setThrowExceptionOnExecuteError(false);
+        request.getHeaders()
+               .setAccept("application/json")
+               .setAuthorization("Bearer " + token);
+        final HttpResponse response = request.execute();
+        final byte[] content;
+        try (InputStream in = response.getContent()) {
+            content = in == null ? new byte[0] : readBytes(in);
+        } finally {
+            response.ignore();
+        }
+
+        final int responseCode = response.getStatusCode();
+        if (responseCode / 100 == 2) {
+            return content;
+        }
+        throw responseError(responseCode, content.length == 0 ? response.getStatusMessage() : new String(content, StandardCharsets.UTF_8));
+    }
+
+    private HttpURLConnection connect(URL url, String token, int readTimeoutMs, String accept) throws UnauthorizedException,
+                                                                                                      ServerException,
+                                                                                                      IOException {
+        final HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+        if (connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection)connection).setSSLSocketFactory(sslSocketFactory);
+            ((HttpsURLConnection)connection).setHostnameVerifier((hostname, session) -> true);
+        }
+        connection.setConnectTimeout(connectTimeoutMs);
+        connection.setReadTimeout(readTimeoutMs);
+        connection.setRequestProperty("Accept", accept);
+        connection.setRequestProperty("Authorization", "Bearer " + token);
+
+        final int responseCode = connection.getResponseCode();
+        if (responseCode / 100 == 2) {
+            return connection;
+        }
+
+        final String error;
+        try (InputStream err = connection.getErrorStream()) {
+            error = err == null ? connection.getResponseMessage() : read(err);
+        }
+        throw responseError(responseCode, error);
+    }
+
+    /** Returns exception for error response of openshift server, response which rejects access token is thrown at once */
+    private static ServerException responseError(int responseCode, String error) throws UnauthorizedException {
+        if (responseCode == HttpURLConnection.HTTP_UNAUTHORIZED) {
+            throw new UnauthorizedException("Openshift server rejected access token. " + error);
+        }
+        return new OpenshiftResponseException(responseCode, "Openshift server responded with " + responseCode + ". " + error);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /** Creates transport which trusts any certificate in the same way as {@link #createSSLSocketFactory} */
+    private static HttpTransport createTransport() {
+        try {
+            return new ApacheHttpTransport.Builder().doNotValidateCertificate().build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize http transport. " + e.getMessage(), e);
+        }
+    }
+
+    /** Creates socket factory which trusts any certificate in the same way as {@link com.openshift.restclient.NoopSSLCertificateCallback} */
+    private static SSLSocketFactory createSSLSocketFactory(int sslSessionTimeoutSec) {
+        final TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[] {trustAll}, null);
+            sslContext.getClientSessionContext().setSessionTimeout(sslSessionTimeoutSec);
+            return sslContext.getSocketFactory();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize SSL context. " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.http.IHttpClient;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStreamTag;
+import org.eclipse.che.ide.ext.openshift.shared.dto.NamedTagEventList;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resolves many image stream tags of one namespace at once.
+ *
+ * <p>Image stream tag which points to the same image is not changed, so resolved tags are kept in memory by
+ * namespace, name and image digest. Digests of current images are taken from image streams of namespace,
+ * only tags which are not found in memory are requested from openshift server, concurrently with bounded parallelism.
+ */
+@Singleton
+public class ImageStreamTagResolver {
+    private final ClientFactory                 clientFactory;
+    private final SharedCatalogCache            catalogCache;
+    private final ResourceListCache             listCache;
+    private final int                           maxTags;
+    private final Cache<String, ImageStreamTag> tags;
+    private final ExecutorService               executor;
+
+    @Inject
+    public ImageStreamTagResolver(ClientFactory clientFactory,
+                                  SharedCatalogCache catalogCache,
+                                  ResourceListCache listCache,
+                                  @Named("che.openshift.image_stream_tag.threads") int threads,
+                                  @Named("che.openshift.image_stream_tag.max_tags") int maxTags,
+                                  @Named("che.openshift.image_stream_tag.cache_size") long cacheSize) {
+        this.clientFactory = clientFactory;
+        this.catalogCache = catalogCache;
+        this.listCache = listCache;
+        this.maxTags = maxTags;
+        this.tags = CacheBuilder.newBuilder()
+                                .maximumSize(cacheSize)
+                                .build();
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("OpenshiftImageStreamTagResolver-%d")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+    }
+
+    /**
+     * Returns image stream tags with given names in the same order, tags which don't exist are skipped.
+     *
+     * @param namespace
+     *         namespace of image streams
+     * @param names
+     *         names of tags in format {@code stream:tag}
+     * @throws BadRequestException
+     *         when name of tag has invalid format or there are too many of them
+     * @throws ForbiddenException
+     *         when user is not allowed to list image streams of shared namespace
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some tag can't be resolved
+     */
+    public List<ImageStreamTag> resolve(String namespace, List<String> names) throws BadRequestException,
+                                                                                     ForbiddenException,
+                                                                                     UnauthorizedException,
+                                                                                     ServerException {
+        final LinkedHashSet<String> uniqueNames = new LinkedHashSet<>(names);
+        if (uniqueNames.size() > maxTags) {
+            throw new BadRequestException("Unable to resolve more than " + maxTags + " image stream tags at once");
+        }
+        for (String name : uniqueNames) {
+            final int separator = name.indexOf(':');
+            if (separator <= 0 || separator == name.length() - 1) {
+                throw new BadRequestException("Invalid image stream tag " + name + ", expected format is stream:tag");
+            }
+        }
+
+        final Map<String, String> digests = getDigests(namespace);
+        final OpenshiftHttpClient httpClient = clientFactory.getHttpClient();
+        final String tagUrl = clientFactory.getClientInfo().getOpenshiftEndpoint() + "/namespaces/{namespace}/imagestreamtags/{name}";
+        final Map<String, ImageStreamTag> resolved = new HashMap<>();
+        final Map<String, Future<ImageStreamTag>> futures = new LinkedHashMap<>();
+        for (String name : uniqueNames) {
+            final String digest = digests.get(name);
+            final ImageStreamTag cached = digest == null ? null : tags.getIfPresent(getKey(namespace, name, digest));
+            if (cached != null) {
+                resolved.put(name, cached);
+            } else {
+                futures.put(name, executor.submit(() -> fetch(httpClient, tagUrl, namespace, name)));
+            }
+        }
+
+        for (Map.Entry<String, Future<ImageStreamTag>> entry : futures.entrySet()) {
+            try {
+                final ImageStreamTag tag = entry.getValue().get();
+                if (tag != null) {
+                    resolved.put(entry.getKey(), tag);
+                }
+            } catch (InterruptedException e) {
+                futures.values().forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new ServerException("Interrupted while resolving image stream tags", e);
+            } catch (ExecutionException e) {
+                futures.values().forEach(f -> f.cancel(true));
+                final Throwable cause = e.getCause();
+                if (cause instanceof UnauthorizedException) {
+                    throw (UnauthorizedException)cause;
+                } else if (cause instanceof ServerException) {
+                    throw (ServerException)cause;
+                }
+                throw new ServerException("Unable to resolve image stream tag " + entry.getKey() + ". " + cause.getMessage(), cause);
+            }
+        }
+
+        final List<ImageStreamTag> result = new ArrayList<>(resolved.size());
+        for (String name : uniqueNames) {
+            final ImageStreamTag tag = resolved.get(name);
+            if (tag != null) {
+                result.add(tag);
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Returns digests of current images of tags in format {@code stream:tag} */
+    private Map<String, String> getDigests(String namespace) throws ForbiddenException, UnauthorizedException, ServerException {
+        final List<ImageStream> imageStreams;
+        if (catalogCache.isShared(namespace)) {
+            imageStreams = catalogCache.getSharedImageStreams(namespace);
+        } else {
+            imageStreams = listCache.list(ResourceKind.IMAGE_STREAM, namespace, Collections.emptyMap(), ImageStream.class);
+        }
+
+        final Map<String, String> digests = new HashMap<>();
+        for (ImageStream imageStream : imageStreams) {
+            if (imageStream.getStatus() == null || imageStream.getStatus().getTags() == null) {
+                continue;
+            }
+            for (NamedTagEventList tag : imageStream.getStatus().getTags()) {
+                // the first item is the current image of tag
+                if (tag.getItems() != null && !tag.getItems().isEmpty() && tag.getItems().get(0).getImage() != null) {
+                    digests.put(imageStream.getMetadata().getName() + ':' + tag.getTag(), tag.getItems().get(0).getImage());
+                }
+            }
+        }
+        return digests;
+    }
+
+    /** Requests image stream tag from openshift server, returns {@code null} if it doesn't exist */
+    private ImageStreamTag fetch(OpenshiftHttpClient httpClient, String tagUrl, String namespace, String name) throws UnauthorizedException,
+                                                                                                                  ServerException {
+        final URL url;
+        try {
+            url = UriBuilder.fromPath(tagUrl).buildFromMap(ImmutableMap.of("namespace", namespace, "name", name)).toURL();
+        } catch (MalformedURLException e) {
+            throw new ServerException("Unable to get image stream tag. " + e.getMessage(), e);
+        }
+
+        final ImageStreamTag tag;
+        try {
+            tag = DtoFactory.getInstance().createDtoFromJson(httpClient.get(url, IHttpClient.DEFAULT_READ_TIMEOUT), ImageStreamTag.class);
+        } catch (OpenshiftResponseException e) {
+            if (e.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new ServerException("Unable to get image stream tag. " + e.getMessage(), e);
+        }
+        if (tag.getImage() != null && tag.getImage().getMetadata() != null && tag.getImage().getMetadata().getName() != null) {
+            tags.put(getKey(namespace, name, tag.getImage().getMetadata().getName()), tag);
+        }
+        return tag;
+    }
+
+    private static String getKey(String namespace, String name, String digest) {
+        return namespace + '/' + name + '@' + digest;
+    }
+}
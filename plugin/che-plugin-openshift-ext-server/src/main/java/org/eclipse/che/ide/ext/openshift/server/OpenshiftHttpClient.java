@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Http client bound to access token of single user which performs requests
+ * through the shared {@link HttpConnectionPool}.
+ */
+public class OpenshiftHttpClient {
+    private final HttpConnectionPool pool;
+    private final String             token;
+    private final Runnable           onUnauthorized;
+
+    OpenshiftHttpClient(HttpConnectionPool pool, String token, Runnable onUnauthorized) {
+        this.pool = pool;
+        this.token = token;
+        this.onUnauthorized = onUnauthorized;
+    }
+
+    /**
+     * Performs GET request and returns body of response.
+     *
+     * @throws UnauthorizedException
+     *         when openshift server rejects access token
+     * @throws ServerException
+     *         when request fails or there is no free connection to openshift server
+     * @throws IOException
+     *         when some I/O error occurs, e.g. read timeout
+     */
+    public String get(URL url, int readTimeoutMs) throws UnauthorizedException, ServerException, IOException {
+        try {
+            return pool.get(url, token, readTimeoutMs);
+        } catch (UnauthorizedException e) {
+            onUnauthorized.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Performs GET request and returns stream of response body which is not limited by read timeout.
+     *
+     * @throws UnauthorizedException
+     *         when openshift server rejects access token
+     * @throws ServerException
+     *         when request fails
+     * @throws IOException
+     *         when some I/O error occurs
+     * @see HttpConnectionPool#openStream(URL, String)
+     */
+    public InputStream openStream(URL url) throws UnauthorizedException, ServerException, IOException {
+        try {
+            return pool.openStream(url, token);
+        } catch (UnauthorizedException e) {
+            onUnauthorized.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Performs PATCH request with body of given content type and returns body of response.
+     *
+     * @throws UnauthorizedException
+     *         when openshift server rejects access token
+     * @throws ServerException
+     *         when request fails or there is no free connection to openshift server
+     * @throws IOException
+     *         when some I/O error occurs, e.g. read timeout
+     */
+    public String patch(URL url, String contentType, String body, int readTimeoutMs) throws UnauthorizedException,
+                                                                                            ServerException,
+                                                                                            IOException {
+        try {
+            return pool.patch(url, token, contentType, body, readTimeoutMs);
+        } catch (UnauthorizedException e) {
+            onUnauthorized.run();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.model.IResource;
+
+import org.eclipse.che.ide.ext.openshift.server.jfr.OpenshiftEvents;
+import org.eclipse.che.ide.ext.openshift.server.jfr.RecordedCall;
+
+import javax.inject.Singleton;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collects metrics of requests to openshift server and writes them in Prometheus text format.
+ *
+ * <p>Latencies and payload sizes are kept in histograms with fixed buckets, boundaries of buckets grow
+ * exponentially and each power of two is divided into linear sub-buckets like in HdrHistogram,
+ * so relative error of quantiles doesn't depend on magnitude of value and recording doesn't allocate.
+ */
+@Singleton
+public class OpenshiftMetrics {
+    /** Boundaries of latency buckets in seconds, from 1 millisecond to about 4 minutes */
+    private static final double[]    LATENCY_BOUNDS   = logLinearBounds(1, 1000, 18, 2);
+    /** Boundaries of payload size buckets in bytes, from 256 bytes to 64 megabytes */
+    private static final double[]    SIZE_BOUNDS      = logLinearBounds(256, 1, 18, 1);
+    /** Methods of openshift client which send requests to openshift server */
+    private static final Set<String> UPSTREAM_METHODS = ImmutableSet.of("get", "list", "create", "update", "delete");
+
+    private final Family<Histogram>                 requestDuration;
+    private final Family<Counter>                   requests;
+    private final Family<Counter>                   coalescedRequests;
+    private final AtomicInteger                     inFlight;
+    private final Family<Histogram>                 upstreamDuration;
+    private final Family<Counter>                   upstreamCalls;
+    private final Family<Counter>                   upstreamErrors;
+    private final Family<Histogram>                 payloadSize;
+    private final Family<Histogram>                 conversionDuration;
+    private final Map<String, Supplier<CacheStats>> caches;
+    private final List<Collected>                   collected;
+
+    public OpenshiftMetrics() {
+        this.requestDuration = new Family<>("openshift_rest_request_duration_seconds",
+                                            "Time from receiving of request to completion of its response",
+                                            () -> new Histogram(LATENCY_BOUNDS),
+                                            "operation");
+        this.requests = new Family<>("openshift_rest_requests_total",
+                                     "Completed requests by outcome: success, error, rejected or timeout",
+                                     Counter::new,
+                                     "operation", "outcome");
+        this.coalescedRequests = new Family<>("openshift_rest_requests_coalesced_total",
+                                              "Requests which were completed with result of identical concurrent request",
+                                              Counter::new,
+                                              "operation");
+        this.inFlight = new AtomicInteger();
+        this.upstreamDuration = new Family<>("openshift_upstream_call_duration_seconds",
+                                             "Duration of calls to openshift server",
+                                             () -> new Histogram(LATENCY_BOUNDS),
+                                             "kind", "method");
+        this.upstreamCalls = new Family<>("openshift_upstream_calls_total", "Calls to openshift server", Counter::new, "kind", "method");
+        this.upstreamErrors = new Family<>("openshift_upstream_errors_total",
+                                           "Calls to openshift server which failed",
+                                           Counter::new,
+                                           "kind", "method");
+        this.payloadSize = new Family<>("openshift_upstream_payload_bytes",
+                                        "Size of bodies of requests to and responses of openshift server",
+                                        () -> new Histogram(SIZE_BOUNDS),
+                                        "kind", "direction");
+        this.conversionDuration = new Family<>("openshift_dto_conversion_duration_seconds",
+                                               "Time spent by request in conversion of openshift resources to DTOs",
+                                               () -> new Histogram(LATENCY_BOUNDS),
+                                               "kind");
+        this.caches = new ConcurrentHashMap<>();
+        this.collected = new CopyOnWriteArrayList<>();
+    }
+
+    /** Records start of request of IDE, returns start time which should be passed to {@link #requestCompleted} */
+    public long requestStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records completion of request of IDE.
+     *
+     * @param operation
+     *         name of operation of REST service
+     * @param outcome
+     *         one of {@code success}, {@code error}, {@code rejected} or {@code timeout}
+     * @param startNanos
+     *         value returned by {@link #requestStarted()}
+     */
+    public void requestCompleted(String operation, String outcome, long startNanos) {
+        inFlight.decrementAndGet();
+        requestDuration.labels(operation).observe(seconds(System.nanoTime() - startNanos));
+        requests.labels(operation, outcome).inc();
+    }
+
+    /** Records request which joined identical request instead of being executed */
+    public void requestCoalesced(String operation) {
+        coalescedRequests.labels(operation).inc();
+    }
+
+    /**
+     * Records call to openshift server.
+     *
+     * @param kind
+     *         kind of resource or name of resource in path of request
+     * @param method
+     *         name of called method of openshift client or http method
+     */
+    public void upstreamCall(String kind, String method, long durationNanos, boolean failed) {
+        upstreamDuration.labels(kind, method).observe(seconds(durationNanos));
+        upstreamCalls.labels(kind, method).inc();
+        if (failed) {
+            upstreamErrors.labels(kind, method).inc();
+        }
+    }
+
+    /** Records size of body which is sent to openshift server */
+    public void requestPayload(String kind, long bytes) {
+        payloadSize.labels(kind, "request").observe(bytes);
+    }
+
+    /** Records size of body which is received from openshift server */
+    public void responsePayload(String kind, long bytes) {
+        payloadSize.labels(kind, "response").observe(bytes);
+    }
+
+    /** Records time spent by request in conversion of openshift resources of the given kind to DTOs */
+    public void conversion(String kind, long durationNanos) {
+        conversionDuration.labels(kind).observe(seconds(durationNanos));
+    }
+
+    /**
+     * Returns openshift client which records calls of given client to openshift server in metrics
+     * and in flight recorder events. Kind of resource is taken from the first argument which is either
+     * kind or resource itself.
+     */
+    public IClient instrument(IClient client) {
+        return (IClient)Proxy.newProxyInstance(IClient.class.getClassLoader(), new Class<?>[] {IClient.class}, (proxy, method, args) -> {
+            if (!UPSTREAM_METHODS.contains(method.getName())) {
+                return invoke(client, method, args);
+            }
+            final RecordedCall event = OpenshiftEvents.upstreamCall();
+            final long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                final Object result = invoke(client, method, args);
+                failed = false;
+                return result;
+            } finally {
+                final long duration = System.nanoTime() - start;
+                final String kind = kindOf(args);
+                upstreamCall(kind, method.getName(), duration, failed);
+                RequestTiming.record(RequestTiming.Phase.UPSTREAM, duration);
+                // openshift client doesn't expose bodies of requests and responses
+                event.complete(kind, namespaceOf(method.getName(), args), method.getName(), RecordedCall.UNKNOWN_SIZE);
+            }
+        });
+    }
+
+    /** Returns name of resources in path of request to openshift server, e.g. imagestreamtags */
+    public static String resourceOf(URL url) {
+        final List<String> segments = Splitter.on('/').omitEmptyStrings().splitToList(url.getPath());
+        final int namespaces = segments.indexOf("namespaces");
+        if (namespaces >= 0 && namespaces + 2 < segments.size()) {
+            return segments.get(namespaces + 2);
+        }
+        // resources which don't belong to namespace, e.g. /oapi/v1/projects/{name}
+        for (int i = 0; i + 2 < segments.size(); i++) {
+            if (segments.get(i).endsWith("api")) {
+                return segments.get(i + 2);
+            }
+        }
+        return "unknown";
+    }
+
+    /** Returns namespace in path of request to openshift server or {@code null} if resource doesn't belong to namespace */
+    public static String namespaceOf(URL url) {
+        final List<String> segments = Splitter.on('/').omitEmptyStrings().splitToList(url.getPath());
+        final int namespaces = segments.indexOf("namespaces");
+        return namespaces >= 0 && namespaces + 1 < segments.size() ? segments.get(namespaces + 1) : null;
+    }
+
+    /** Registers cache which hits, misses and hit ratio are reported */
+    public void registerCache(String name, Supplier<CacheStats> stats) {
+        caches.put(name, stats);
+    }
+
+    /** Registers value which is reported as gauge, e.g. number of leased connections */
+    public void registerGauge(String name, String help, DoubleSupplier value) {
+        collected.add(new Collected(name, help, "gauge", value));
+    }
+
+    /** Registers monotonically growing value which is reported as counter, e.g. number of rejected requests */
+    public void registerCounter(String name, String help, DoubleSupplier value) {
+        collected.add(new Collected(name, help, "counter", value));
+    }
+
+    /** Writes all metrics in Prometheus text exposition format */
+    public String scrape() {
+        final StringBuilder out = new StringBuilder(8192);
+        header(out, "openshift_rest_requests_in_flight", "Requests of IDE which are not completed yet", "gauge");
+        out.append("openshift_rest_requests_in_flight ").append(inFlight.get()).append('\n');
+        requestDuration.write(out);
+        requests.write(out);
+        coalescedRequests.write(out);
+        upstreamDuration.write(out);
+        upstreamCalls.write(out);
+        upstreamErrors.write(out);
+        payloadSize.write(out);
+        conversionDuration.write(out);
+
+        final Map<String, CacheStats> stats = new TreeMap<>();
+        caches.forEach((name, supplier) -> stats.put(name, supplier.get()));
+        header(out, "openshift_cache_hits_total", "Lookups which were served by cache", "counter");
+        stats.forEach((name, s) -> sample(out, "openshift_cache_hits_total", "cache", name, s.hitCount()));
+        header(out, "openshift_cache_misses_total", "Lookups which were not served by cache", "counter");
+        stats.forEach((name, s) -> sample(out, "openshift_cache_misses_total", "cache", name, s.missCount()));
+        header(out, "openshift_cache_hit_ratio", "Ratio of lookups served by cache since start", "gauge");
+        stats.forEach((name, s) -> sample(out, "openshift_cache_hit_ratio", "cache", name, s.hitRate()));
+
+        for (Collected value : collected) {
+            header(out, value.name, value.help, value.type);
+            out.append(value.name).append(' ').append(format(value.value.getAsDouble())).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Generates boundaries which start from {@code first / divisor}, each power of two is divided into {@code subBuckets} linear parts.
+     * Boundaries are computed from integers, so they are written without rounding noise.
+     */
+    private static double[] logLinearBounds(long first, long divisor, int powers, int subBuckets) {
+        final double[] bounds = new double[powers * subBuckets + 1];
+        int i = 0;
+        for (int power = 0; power < powers; power++) {
+            for (int sub = 0; sub < subBuckets; sub++) {
+                bounds[i++] = (double)(first * (1L << power) * (subBuckets + sub)) / (subBuckets * divisor);
+            }
+        }
+        bounds[i] = (double)(first * (1L << powers)) / divisor;
+        return bounds;
+    }
+
+    private static Object invoke(IClient client, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String kindOf(Object[] args) {
+        if (args == null || args.length == 0) {
+            return "unknown";
+        }
+        if (args[0] instanceof String) {
+            return (String)args[0];
+        }
+        if (args[0] instanceof IResource) {
+            return ((IResource)args[0]).getKind();
+        }
+        return "unknown";
+    }
+
+    /** Returns namespace argument of method of openshift client, e.g. get(kind, name, namespace) or create(resource, namespace) */
+    private static String namespaceOf(String method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return null;
+        }
+        if (args[0] instanceof IResource) {
+            return args.length > 1 && args[1] instanceof String ? (String)args[1] : ((IResource)args[0]).getNamespace();
+        }
+        final int index = "get".equals(method) ? 2 : 1;
+        return args.length > index && args[index] instanceof String ? (String)args[index] : null;
+    }
+
+    private static double seconds(long nanos) {
+        return (double)nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String value, double sample) {
+        out.append(name).append('{').append(label).append("=\"").append(escape(value)).append("\"} ").append(format(sample)).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long)value) : Double.toString(value);
+    }
+
+    private interface Metric {
+        void write(StringBuilder out, String name, String labels);
+    }
+
+    /** Metrics of the same name with different values of labels */
+    private static class Family<M extends Metric> {
+        private final String                         name;
+        private final String                         help;
+        private final String                         type;
+        private final Supplier<M>                    factory;
+        private final String[]                       labelNames;
+        private final ConcurrentMap<List<String>, M> children;
+
+        Family(String name, String help, Supplier<M> factory, String... labelNames) {
+            this.name = name;
+            this.help = help;
+            this.factory = factory;
+            this.labelNames = labelNames;
+            this.children = new ConcurrentHashMap<>();
+            this.type = name.endsWith("_total") ? "counter" : "histogram";
+        }
+
+        M labels(String... values) {
+            final List<String> key = Arrays.asList(values);
+            final M metric = children.get(key);
+            return metric != null ? metric : children.computeIfAbsent(key, k -> factory.get());
+        }
+
+        void write(StringBuilder out) {
+            header(out, name, help, type);
+            for (Map.Entry<List<String>, M> child : new ArrayList<>(children.entrySet())) {
+                final StringBuilder labels = new StringBuilder();
+                for (int i = 0; i < labelNames.length; i++) {
+                    if (i > 0) {
+                        labels.append(',');
+                    }
+                    labels.append(labelNames[i]).append("=\"").append(escape(child.getKey().get(i))).append('"');
+                }
+                child.getValue().write(out, name, labels.toString());
+            }
+        }
+    }
+
+    private static class Counter implements Metric {
+        private final LongAdder value = new LongAdder();
+
+        void inc() {
+            value.increment();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            out.append(name).append('{').append(labels).append("} ").append(value.sum()).append('\n');
+        }
+    }
+
+    private static class Histogram implements Metric {
+        private final double[]    bounds;
+        private final LongAdder[] buckets;
+        private final DoubleAdder sum;
+
+        Histogram(double[] bounds) {
+            this.bounds = bounds;
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+            this.sum = new DoubleAdder();
+        }
+
+        void observe(double value) {
+            int index = Arrays.binarySearch(bounds, value);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            buckets[index].increment();
+            sum.add(value);
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            long count = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                count += buckets[i].sum();
+                out.append(name).append("_bucket{").append(labels).append(",le=\"")
+                   .append(i < bounds.length ? format(bounds[i]) : "+Inf").append("\"} ").append(count).append('\n');
+            }
+            out.append(name).append("_sum{").append(labels).append("} ").append(format(sum.sum())).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ").append(count).append('\n');
+        }
+    }
+
+    private static class Collected {
+        private final String         name;
+        private final String         help;
+        private final String         type;
+        private final DoubleSupplier value;
+
+        Collected(String name, String help, String type, DoubleSupplier value) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.base.Splitter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonArray;
+
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonArrayImpl;
+import org.eclipse.che.dto.server.JsonSerializable;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes requests to openshift server out of threads of servlet container.
+ *
+ * <p>Requests are executed by bounded thread pool and each namespace is a separate bulkhead:
+ * only limited number of requests to the same namespace are executed at the same time,
+ * following ones wait in queue of namespace. Requests which don't belong to namespace are limited
+ * per user in the same way. Request which doesn't fit into queue of its namespace
+ * or into queue of thread pool is rejected immediately with 503 status. Request which isn't completed
+ * in time configured for its operation is completed with 503 status.
+ *
+ * <p>Identical reads of the same user which are executed at the same time share one execution.
+ */
+@Singleton
+public class OpenshiftRequestExecutor {
+    /**
+     * Prefix of bulkhead for requests of user which don't belong to namespace, e.g. list of projects.
+     * Such requests are limited per user, so slow requests of one user don't reject requests of others.
+     * Colon isn't allowed in namespace names, so these bulkheads never clash with namespace ones.
+     */
+    private static final String CLUSTER_LANE_PREFIX = "cluster:";
+
+    private final OpenshiftMetrics               metrics;
+    private final ThreadPoolExecutor             executor;
+    private final ConcurrentMap<String, Lane>    lanes;
+    private final ConcurrentMap<SharedKey, Task> sharedTasks;
+    private final int                            maxConcurrentPerNamespace;
+    private final int                            maxQueuedPerNamespace;
+    private final long                           defaultTimeoutMs;
+    private final Map<String, Long>              operationTimeoutsMs;
+
+    @Inject
+    public OpenshiftRequestExecutor(@Named("che.openshift.rest.threads") int threads,
+                                    @Named("che.openshift.rest.queue_size") int queueSize,
+                                    @Named("che.openshift.rest.max_concurrent_per_namespace") int maxConcurrentPerNamespace,
+                                    @Named("che.openshift.rest.max_queued_per_namespace") int maxQueuedPerNamespace,
+                                    @Named("che.openshift.rest.timeout_ms") long defaultTimeoutMs,
+                                    @Named("che.openshift.rest.operation_timeouts_ms") String operationTimeoutsMs,
+                                    OpenshiftMetrics metrics) {
+        this.metrics = metrics;
+        this.executor = new ThreadPoolExecutor(threads,
+                                               threads,
+                                               60,
+                                               TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<>(queueSize),
+                                               new ThreadFactoryBuilder().setNameFormat("OpenshiftRequest-%d")
+                                                                         .setDaemon(true)
+                                                                         .build());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.lanes = new ConcurrentHashMap<>();
+        this.sharedTasks = new ConcurrentHashMap<>();
+        this.maxConcurrentPerNamespace = maxConcurrentPerNamespace;
+        this.maxQueuedPerNamespace = maxQueuedPerNamespace;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.operationTimeoutsMs = new HashMap<>();
+        Splitter.on(',')
+                .trimResults()
+                .omitEmptyStrings()
+                .withKeyValueSeparator('=')
+                .split(operationTimeoutsMs)
+                .forEach((operation, timeout) -> this.operationTimeoutsMs.put(operation.trim(), Long.parseLong(timeout.trim())));
+    }
+
+    /**
+     * Executes task in bulkhead of namespace and resumes response with its result or error.
+     *
+     * @param namespace
+     *         namespace to which task sends requests, {@code null} if task doesn't belong to namespace
+     * @param operation
+     *         name of operation, used for looking up of its timeout
+     * @param response
+     *         suspended response
+     * @param task
+     *         task which returns entity of response, {@code null} for response without content
+     */
+    public void execute(String namespace, String operation, AsyncResponse response, Callable<?> task) {
+        submit(namespace, operation, null, response, task);
+    }
+
+    /**
+     * Executes reading task in bulkhead of namespace, identical concurrent reads of the same user share one execution.
+     *
+     * <p>If task of the same user, operation and arguments is already waiting or running then response
+     * is completed with its result, so concurrent identical requests cause one call to openshift server
+     * and one conversion of its result. Task must not modify anything, result is sent to all joined responses.
+     *
+     * @param namespace
+     *         namespace to which task sends requests, {@code null} if task doesn't belong to namespace
+     * @param operation
+     *         name of operation, used for looking up of its timeout
+     * @param arguments
+     *         arguments of operation which together with user and operation identify result of task
+     * @param response
+     *         suspended response
+     * @param task
+     *         task which returns entity of response
+     */
+    public void executeShared(String namespace, String operation, List<?> arguments, AsyncResponse response, Callable<?> task) {
+        submit(namespace, operation, new SharedKey(currentUserId(), operation, arguments), response, task);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void submit(String namespace, String operation, SharedKey key, AsyncResponse response, Callable<?> task) {
+        final long startNanos = metrics.requestStarted();
+        final long timeoutMs = operationTimeoutsMs.getOrDefault(operation, defaultTimeoutMs);
+        final Task newTask = new Task(operation, key, task, EnvironmentContext.getCurrent());
+        newTask.join(response, startNanos);
+        if (key != null) {
+            Task shared;
+            while ((shared = sharedTasks.putIfAbsent(key, newTask)) != null) {
+                if (shared.join(response, startNanos)) {
+                    metrics.requestCoalesced(operation);
+                    await(shared, response, timeoutMs);
+                    return;
+                }
+                // shared task is completed right now, its result may be already stale
+                sharedTasks.remove(key, shared);
+            }
+        }
+        await(newTask, response, timeoutMs);
+
+        final String laneName = namespace == null ? CLUSTER_LANE_PREFIX + currentUserId() : namespace;
+        while (true) {
+            final Lane lane = lanes.computeIfAbsent(laneName, Lane::new);
+            synchronized (lane) {
+                if (lanes.get(laneName) != lane) {
+                    // lane is released and removed after it was looked up, it must not be used anymore
+                    continue;
+                }
+                newTask.lane = lane;
+                if (lane.running >= maxConcurrentPerNamespace) {
+                    if (lane.waiting.size() >= maxQueuedPerNamespace) {
+                        final String target = namespace == null ? "openshift server" : "openshift namespace " + namespace;
+                        newTask.reject("Too many requests to " + target + ", try again later");
+                        return;
+                    }
+                    lane.waiting.add(newTask);
+                    return;
+                }
+                lane.running++;
+            }
+            start(newTask);
+            return;
+        }
+    }
+
+    private void await(Task task, AsyncResponse response, long timeoutMs) {
+        response.setTimeoutHandler(timedOut -> {
+            final Long startNanos = task.leave(timedOut);
+            if (startNanos != null) {
+                timedOut.resume(error("Request to openshift server timed out", startNanos));
+                metrics.requestCompleted(task.operation, "timeout", startNanos);
+            }
+        });
+        response.setTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void start(Task task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            release(task.lane);
+            task.reject("Too many requests to openshift server, try again later");
+        }
+    }
+
+    /** Starts next waiting task of the lane in place of completed one */
+    private void release(Lane lane) {
+        final Task next;
+        synchronized (lane) {
+            next = lane.waiting.poll();
+            if (next == null) {
+                lane.running--;
+                if (lane.running == 0) {
+                    lanes.remove(lane.name, lane);
+                }
+            }
+        }
+        if (next != null) {
+            start(next);
+        }
+    }
+
+    /**
+     * Serializes DTO or list of DTOs to JSON, so time of serialization is included into timing of request
+     * and result shared by identical requests is serialized once. Other entities are returned as is.
+     */
+    private static Object serialize(Object entity) {
+        final long start = System.nanoTime();
+        try {
+            if (entity instanceof JsonSerializable) {
+                return ((JsonSerializable)entity).toJson();
+            }
+            if (entity instanceof List) {
+                final JsonArray array = new JsonArray();
+                for (Object item : (List<?>)entity) {
+                    if (!(item instanceof JsonSerializable)) {
+                        // list should be wrapped into JsonArray for correct serialization by JSON provider
+                        return entity instanceof JsonArrayImpl ? entity : new JsonArrayImpl<>((List<?>)entity);
+                    }
+                    array.add(((JsonSerializable)item).toJsonElement());
+                }
+                return array.toString();
+            }
+            return entity;
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.SERIALIZATION, System.nanoTime() - start);
+        }
+    }
+
+    private static String currentUserId() {
+        final Subject subject = EnvironmentContext.getCurrent().getSubject();
+        return subject == null ? null : subject.getUserId();
+    }
+
+    /** Returns response of request which wasn't executed, timing header contains only its total time */
+    private static Response error(String message, long startNanos) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                       .entity(DtoFactory.newDto(ServiceError.class).withMessage(message))
+                       .type(MediaType.APPLICATION_JSON)
+                       .header(RequestTiming.HEADER, RequestTiming.toTotalHeader(System.nanoTime() - startNanos))
+                       .build();
+    }
+
+    /** Requests of one namespace */
+    private static class Lane {
+        private final String      name;
+        private final Queue<Task> waiting;
+        private       int         running;
+
+        Lane(String name) {
+            this.name = name;
+            this.waiting = new ArrayDeque<>();
+        }
+    }
+
+    /** Task with responses which wait for its result */
+    private class Task implements Runnable {
+        private final String                   operation;
+        private final SharedKey                key;
+        private final Callable<?>              task;
+        private final EnvironmentContext       context;
+        /** Waiting responses and start times of their requests */
+        private final Map<AsyncResponse, Long> responses;
+
+        private          boolean completed;
+        private volatile boolean timedOut;
+        private volatile Lane    lane;
+
+        Task(String operation, SharedKey key, Callable<?> task, EnvironmentContext context) {
+            this.operation = operation;
+            this.key = key;
+            this.task = task;
+            this.context = context;
+            this.responses = new HashMap<>(2);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (timedOut) {
+                    return;
+                }
+                EnvironmentContext.setCurrent(context);
+                final RequestTiming timing = RequestTiming.start();
+                try {
+                    final Object entity = serialize(task.call());
+                    complete(entity == null ? Response.noContent() : Response.ok(entity, MediaType.APPLICATION_JSON), timing);
+                } catch (Exception e) {
+                    complete(e, "error");
+                } finally {
+                    timing.getConversions().forEach(metrics::conversion);
+                    RequestTiming.finish();
+                    EnvironmentContext.reset();
+                }
+            } finally {
+                release(lane);
+            }
+        }
+
+        /** Adds response which waits for result of task, returns {@code false} if task is already completed */
+        synchronized boolean join(AsyncResponse response, long startNanos) {
+            if (completed || timedOut) {
+                return false;
+            }
+            responses.put(response, startNanos);
+            return true;
+        }
+
+        /**
+         * Removes timed out response, task itself is cancelled when no responses wait for it.
+         * Waiting task is removed from queue, running task is abandoned: it isn't interrupted since
+         * blocking read of connection doesn't react on interruption and its thread may already run
+         * another task, its result is dropped since no responses wait for it.
+         * Returns start time of request or {@code null} if response is already resumed with result of task.
+         */
+        Long leave(AsyncResponse response) {
+            final Long startNanos;
+            synchronized (this) {
+                startNanos = responses.remove(response);
+                if (startNanos == null || !responses.isEmpty()) {
+                    return startNanos;
+                }
+                timedOut = true;
+            }
+            if (key != null) {
+                sharedTasks.remove(key, this);
+            }
+            final Lane current = lane;
+            if (current != null) {
+                synchronized (current) {
+                    current.waiting.remove(this);
+                }
+            }
+            return startNanos;
+        }
+
+        /** Resumes all waiting responses with successful result, each response gets its own timing header */
+        void complete(Response.ResponseBuilder result, RequestTiming timing) {
+            final long now = System.nanoTime();
+            for (Map.Entry<AsyncResponse, Long> entry : detach().entrySet()) {
+                entry.getKey().resume(result.clone().header(RequestTiming.HEADER, timing.toHeader(now - entry.getValue())).build());
+                metrics.requestCompleted(operation, "success", entry.getValue());
+            }
+        }
+
+        /** Resumes all waiting responses with error, response is produced by exception mapper */
+        void complete(Exception error, String outcome) {
+            for (Map.Entry<AsyncResponse, Long> entry : detach().entrySet()) {
+                entry.getKey().resume(error);
+                metrics.requestCompleted(operation, outcome, entry.getValue());
+            }
+        }
+
+        /** Resumes all waiting responses with rejection of task which wasn't executed */
+        void reject(String message) {
+            for (Map.Entry<AsyncResponse, Long> entry : detach().entrySet()) {
+                entry.getKey().resume(error(message, entry.getValue()));
+                metrics.requestCompleted(operation, "rejected", entry.getValue());
+            }
+        }
+
+        /** Marks task completed and returns responses which wait for its result */
+        private Map<AsyncResponse, Long> detach() {
+            final Map<AsyncResponse, Long> waiting;
+            synchronized (this) {
+                completed = true;
+                waiting = new HashMap<>(responses);
+                responses.clear();
+            }
+            if (key != null) {
+                sharedTasks.remove(key, this);
+            }
+            return waiting;
+        }
+    }
+
+    /** Identifies result of reading task */
+    private static final class SharedKey {
+        private final String  userId;
+        private final String  operation;
+        private final List<?> arguments;
+
+        SharedKey(String userId, String operation, List<?> arguments) {
+            this.userId = userId;
+            this.operation = operation;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SharedKey)) {
+                return false;
+            }
+            final SharedKey other = (SharedKey)obj;
+            return Objects.equals(userId, other.userId)
+                   && Objects.equals(operation, other.operation)
+                   && Objects.equals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, operation, arguments);
+        }
+    }
+}
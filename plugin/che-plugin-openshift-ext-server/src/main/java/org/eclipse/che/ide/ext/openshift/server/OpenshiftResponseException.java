@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import org.eclipse.che.api.core.ServerException;
+
+/**
+ * Thrown when openshift server responds with unexpected status code.
+ */
+public class OpenshiftResponseException extends ServerException {
+    private final int responseCode;
+
+    public OpenshiftResponseException(int responseCode, String message) {
+        super(message);
+        this.responseCode = responseCode;
+    }
+
+    /** Returns HTTP status code of response */
+    public int getResponseCode() {
+        return responseCode;
+    }
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent by request of IDE in phases of its execution, it is sent to browser in {@code Server-Timing} header.
+ *
+ * <p>Timing is bound to the thread which executes request, phases which are executed in other threads
+ * (e.g. concurrent requests of image stream tags) are not counted.
+ */
+public class RequestTiming {
+    public static final String HEADER = "Server-Timing";
+
+    public enum Phase {
+        TOKEN("token", "Access token lookup"),
+        CLIENT("client", "Openshift client acquisition"),
+        UPSTREAM("upstream", "Calls to openshift server"),
+        CONVERSION("convert", "Conversion to DTO"),
+        SERIALIZATION("serialize", "Serialization of response");
+
+        private final String name;
+        private final String description;
+
+        Phase(String name, String description) {
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long[]            durations   = new long[Phase.values().length];
+    private final Map<String, Long> conversions = new HashMap<>();
+
+    /** Starts timing of request executed by current thread */
+    public static RequestTiming start() {
+        final RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /** Stops timing of request executed by current thread */
+    public static void finish() {
+        CURRENT.remove();
+    }
+
+    /** Adds duration of phase to timing of request executed by current thread, if any */
+    public static void record(Phase phase, long durationNanos) {
+        final RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.durations[phase.ordinal()] += durationNanos;
+        }
+    }
+
+    /** Adds duration of conversion of resource of the given kind to timing of request executed by current thread, if any */
+    public static void recordConversion(String kind, long durationNanos) {
+        final RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.durations[Phase.CONVERSION.ordinal()] += durationNanos;
+            timing.conversions.merge(kind, durationNanos, Long::sum);
+        }
+    }
+
+    /** Returns time spent by request in conversion of resources to DTOs by kind of resource */
+    public Map<String, Long> getConversions() {
+        return conversions;
+    }
+
+    /** Returns value of {@code Server-Timing} header with all phases and total time of request */
+    public String toHeader(long totalNanos) {
+        final StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(phase.name)
+                  .append(";dur=").append(millis(durations[phase.ordinal()]))
+                  .append(";desc=\"").append(phase.description).append("\", ");
+        }
+        return header.append("total;dur=").append(millis(totalNanos)).toString();
+    }
+
+    /** Returns value of {@code Server-Timing} header with total time of request which wasn't executed */
+    public static String toTotalHeader(long totalNanos) {
+        return "total;dur=" + millis(totalNanos);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", (double)nanos / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
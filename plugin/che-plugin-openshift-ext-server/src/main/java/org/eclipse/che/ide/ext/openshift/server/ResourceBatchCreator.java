@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.OpenShiftException;
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.model.IResource;
+import com.openshift.restclient.model.IStatus;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.BatchItemStatus;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Creates openshift objects of different kinds in one namespace.
+ *
+ * <p>Objects are created in stages, so objects which are referenced by others exist before them:
+ * image streams and other supporting objects first, then build configs, deployment configs and services,
+ * routes at last. Objects of the same stage are created concurrently.
+ * Object which already exists is treated as created, so the same batch may be safely sent again.
+ */
+@Singleton
+public class ResourceBatchCreator {
+    private static final Gson GSON = new Gson();
+
+    private final ClientFactory   clientFactory;
+    private final ExecutorService executor;
+
+    @Inject
+    public ResourceBatchCreator(ClientFactory clientFactory, @Named("che.openshift.batch.threads") int threads) {
+        this.clientFactory = clientFactory;
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("OpenshiftBatchCreator-%d")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+    }
+
+    /**
+     * Creates given objects in namespace and returns status of each of them in the same order.
+     *
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during getting of access token
+     */
+    public List<BatchItemStatus> create(String namespace, List<Object> items) throws UnauthorizedException, ServerException {
+        final IClient client = clientFactory.getOpenshiftClient();
+
+        final List<BatchItemStatus> result = new ArrayList<>(items.size());
+        final TreeMap<Integer, List<Integer>> stages = new TreeMap<>();
+        final List<JsonObject> objects = new ArrayList<>(items.size());
+        for (Object item : items) {
+            final JsonElement json = item instanceof JsonElement ? (JsonElement)item : GSON.toJsonTree(item);
+            final JsonObject object = json.isJsonObject() ? json.getAsJsonObject() : new JsonObject();
+            final String kind = getString(object, "kind");
+            final JsonObject metadata = object.has("metadata") && object.get("metadata").isJsonObject()
+                                        ? object.getAsJsonObject("metadata") : null;
+            result.add(DtoFactory.newDto(BatchItemStatus.class)
+                                 .withKind(kind)
+                                 .withName(metadata == null ? null : getString(metadata, "name")));
+            objects.add(object);
+            stages.computeIfAbsent(getStage(kind), stage -> new ArrayList<>()).add(objects.size() - 1);
+        }
+
+        for (List<Integer> stage : stages.values()) {
+            final List<Future<?>> futures = new ArrayList<>(stage.size());
+            for (Integer index : stage) {
+                futures.add(executor.submit(() -> create(client, namespace, objects.get(index), result.get(index))));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new ServerException("Interrupted while creating openshift objects", e);
+                } catch (ExecutionException e) {
+                    // status of item is set by the task itself
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private static void create(IClient client, String namespace, JsonObject object, BatchItemStatus status) {
+        if (status.getKind() == null) {
+            status.withStatus(BatchItemStatus.FAILED).setMessage("Kind of object is not specified");
+            return;
+        }
+        try {
+            final IResource resource = client.getResourceFactory().create(object.toString());
+            client.create(resource, namespace);
+            status.setStatus(BatchItemStatus.CREATED);
+        } catch (OpenShiftException e) {
+            final IStatus openshiftStatus = e.getStatus();
+            if (openshiftStatus != null && openshiftStatus.getCode() == HttpURLConnection.HTTP_CONFLICT) {
+                status.setStatus(BatchItemStatus.EXISTS);
+            } else {
+                status.withStatus(BatchItemStatus.FAILED)
+                      .setMessage(openshiftStatus == null ? e.getLocalizedMessage() : openshiftStatus.getMessage());
+            }
+        } catch (RuntimeException e) {
+            status.withStatus(BatchItemStatus.FAILED).setMessage(e.getLocalizedMessage());
+        }
+    }
+
+    /** Returns stage in which object of given kind should be created, objects of lower stages are created first */
+    private static int getStage(String kind) {
+        if (kind == null) {
+            return 0;
+        }
+        switch (kind) {
+            case ResourceKind.BUILD_CONFIG:
+            case ResourceKind.DEPLOYMENT_CONFIG:
+            case ResourceKind.SERVICE:
+                return 1;
+            case ResourceKind.ROUTE:
+                return 2;
+            default:
+                // image streams, secrets, service accounts, persistent volume claims etc. are referenced by other objects
+                return 0;
+        }
+    }
+
+    private static String getString(JsonObject object, String property) {
+        final JsonElement value = object.get(property);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalListener;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.IOpenShiftWatchListener;
+import com.openshift.restclient.IWatcher;
+import com.openshift.restclient.OpenShiftException;
+import com.openshift.restclient.model.IResource;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Serves lists of openshift resources from memory.
+ *
+ * <p>For each combination of user access token, namespace and kind of resources the first request starts
+ * watching of the resources. Watch lists resources once and then receives changes of them,
+ * so following requests are served from the local copy without calls to openshift server.
+ * While watch is not connected yet or was broken, lists are fetched directly from openshift server
+ * and broken watch is restarted on the next request. Watches which are not used for configured time are stopped.
+ */
+@Singleton
+public class ResourceListCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceListCache.class);
+
+    private static final Comparator<IResource> BY_NAME = Comparator.comparing(IResource::getName);
+
+    private final ClientFactory                clientFactory;
+    private final boolean                      enabled;
+    private final Cache<WatchKey, WatchedList> watchedLists;
+    private final LongAdder                    hits;
+    private final LongAdder                    misses;
+
+    @Inject
+    public ResourceListCache(ClientFactory clientFactory,
+                             @Named("che.openshift.list_cache.enabled") boolean enabled,
+                             @Named("che.openshift.list_cache.max_watches") long maxWatches,
+                             @Named("che.openshift.list_cache.idle_timeout_sec") long idleTimeoutSec,
+                             OpenshiftMetrics metrics) {
+        this.clientFactory = clientFactory;
+        this.enabled = enabled;
+        this.watchedLists = CacheBuilder.newBuilder()
+                                        .maximumSize(maxWatches)
+                                        .expireAfterAccess(idleTimeoutSec, TimeUnit.SECONDS)
+                                        .removalListener((RemovalListener<WatchKey, WatchedList>)n -> n.getValue().stop())
+                                        .build();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        metrics.registerCache("resource_list", () -> new CacheStats(hits.sum(), misses.sum(), 0, 0, 0, 0));
+    }
+
+    /**
+     * Returns resources of given kind from namespace which have all specified labels, converted to DTOs and ordered by name.
+     *
+     * <p>Cached resources are shared by all requests with the same access token, so they are never returned as is,
+     * each caller gets its own DTOs.
+     *
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some exception occurs during getting of access token
+     */
+    public <T> List<T> list(String kind, String namespace, Map<String, String> labels, Class<T> dtoType) throws UnauthorizedException,
+                                                                                                              ServerException {
+        final IClient client = clientFactory.getOpenshiftClient();
+        if (!enabled) {
+            return toDtos(client.list(kind, namespace, labels), dtoType);
+        }
+
+        final WatchKey key = new WatchKey(clientFactory.getCurrentToken(), namespace, kind);
+        WatchedList watchedList = getOrStart(key, client);
+        if (watchedList.isBroken()) {
+            // removal listener stops broken watch, new one is started instead of it
+            watchedLists.asMap().remove(key, watchedList);
+            watchedList = getOrStart(key, client);
+        }
+        if (watchedList.isSynced()) {
+            hits.increment();
+            return toDtos(watchedList.list(labels), dtoType);
+        }
+        misses.increment();
+        return toDtos(client.list(kind, namespace, labels), dtoType);
+    }
+
+    @PreDestroy
+    public void stop() {
+        watchedLists.invalidateAll();
+    }
+
+    private WatchedList getOrStart(WatchKey key, IClient client) {
+        try {
+            return watchedLists.get(key, () -> {
+                final WatchedList watchedList = new WatchedList(key);
+                watchedList.start(client);
+                return watchedList;
+            });
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static <T> List<T> toDtos(List<? extends IResource> resources, Class<T> dtoType) {
+        return resources.stream()
+                        .sorted(BY_NAME)
+                        .map(resource -> DtoConverter.toDto(dtoType, resource))
+                        .collect(Collectors.toList());
+    }
+
+    private static boolean matches(IResource resource, Map<String, String> labels) {
+        if (labels.isEmpty()) {
+            return true;
+        }
+        final Map<String, String> resourceLabels = resource.getLabels();
+        return resourceLabels != null && resourceLabels.entrySet().containsAll(labels.entrySet());
+    }
+
+    /** Local copy of resources of one kind in one namespace which is kept up to date by openshift watch */
+    private static class WatchedList implements IOpenShiftWatchListener {
+        private final WatchKey               key;
+        private final Map<String, IResource> resources;
+
+        private volatile boolean  synced;
+        private volatile boolean  broken;
+        private volatile IWatcher watcher;
+
+        WatchedList(WatchKey key) {
+            this.key = key;
+            this.resources = new ConcurrentHashMap<>();
+        }
+
+        void start(IClient client) {
+            try {
+                watcher = client.watch(key.namespace, this, key.kind);
+            } catch (OpenShiftException e) {
+                LOG.debug("Unable to watch {} in namespace {}. {}", key.kind, key.namespace, e.getMessage());
+                broken = true;
+            }
+        }
+
+        void stop() {
+            synced = false;
+            final IWatcher current = watcher;
+            if (current != null) {
+                current.stop();
+            }
+        }
+
+        boolean isSynced() {
+            return synced;
+        }
+
+        boolean isBroken() {
+            return broken;
+        }
+
+        List<IResource> list(Map<String, String> labels) {
+            return resources.values()
+                            .stream()
+                            .filter(resource -> matches(resource, labels))
+                            .collect(Collectors.toList());
+        }
+
+        @Override
+        public void connected(List<IResource> initial) {
+            resources.clear();
+            for (IResource resource : initial) {
+                resources.put(resource.getName(), resource);
+            }
+            synced = true;
+        }
+
+        @Override
+        public void received(IResource resource, ChangeType change) {
+            if (ChangeType.DELETED.equals(change)) {
+                resources.remove(resource.getName());
+            } else {
+                resources.put(resource.getName(), resource);
+            }
+        }
+
+        @Override
+        public void disconnected() {
+            synced = false;
+            broken = true;
+        }
+
+        @Override
+        public void error(Throwable err) {
+            LOG.debug("Watch of {} in namespace {} is broken. {}", key.kind, key.namespace, err.getMessage());
+            synced = false;
+            broken = true;
+        }
+    }
+
+    private static final class WatchKey {
+        private final String token;
+        private final String namespace;
+        private final String kind;
+
+        WatchKey(String token, String namespace, String kind) {
+            this.token = token;
+            this.namespace = namespace;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof WatchKey)) {
+                return false;
+            }
+            final WatchKey other = (WatchKey)obj;
+            return Objects.equals(token, other.token)
+                   && Objects.equals(namespace, other.namespace)
+                   && Objects.equals(kind, other.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(token, namespace, kind);
+        }
+    }
+}
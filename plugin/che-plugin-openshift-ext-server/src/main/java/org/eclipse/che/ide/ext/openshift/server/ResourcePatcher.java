@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.collect.ImmutableMap;
+import com.openshift.restclient.ResourceKind;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftServerInfo;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+/**
+ * Sends partial updates of openshift objects to openshift server.
+ *
+ * <p>Patch is forwarded as is, so only changed fields are sent and openshift server applies them
+ * to the latest version of object, which avoids conflicts of concurrent read-modify-write updates.
+ * Supported formats are json merge patch, strategic merge patch (kubernetes objects only) and json patch.
+ */
+@Singleton
+public class ResourcePatcher {
+    public static final String MERGE_PATCH_JSON           = "application/merge-patch+json";
+    public static final String STRATEGIC_MERGE_PATCH_JSON = "application/strategic-merge-patch+json";
+    public static final String JSON_PATCH_JSON            = "application/json-patch+json";
+
+    /** Path segments of resources of supported kinds */
+    private static final Map<String, String> RESOURCES = ImmutableMap.<String, String>builder()
+            .put(ResourceKind.BUILD_CONFIG, "buildconfigs")
+            .put(ResourceKind.DEPLOYMENT_CONFIG, "deploymentconfigs")
+            .put(ResourceKind.IMAGE_STREAM, "imagestreams")
+            .put(ResourceKind.ROUTE, "routes")
+            .put(ResourceKind.PROJECT, "projects")
+            .put(ResourceKind.SERVICE, "services")
+            .put(ResourceKind.REPLICATION_CONTROLLER, "replicationcontrollers")
+            .build();
+
+    private final ClientFactory clientFactory;
+    private final int           readTimeoutMs;
+
+    @Inject
+    public ResourcePatcher(ClientFactory clientFactory, @Named("che.openshift.patch.read_timeout_ms") int readTimeoutMs) {
+        this.clientFactory = clientFactory;
+        this.readTimeoutMs = readTimeoutMs;
+    }
+
+    /**
+     * Applies patch to object and returns updated object.
+     *
+     * @param kind
+     *         kind of object
+     * @param namespace
+     *         namespace of object, ignored for projects
+     * @param name
+     *         name of object
+     * @param contentType
+     *         format of patch
+     * @param patch
+     *         patch to apply
+     * @param dtoType
+     *         type of returned object
+     * @throws BadRequestException
+     *         when patch is empty or openshift server rejects it as invalid
+     * @throws NotFoundException
+     *         when object doesn't exist
+     * @throws ConflictException
+     *         when patch contains resource version which doesn't match the current one
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when some other error occurs
+     */
+    public <T> T patch(String kind,
+                       String namespace,
+                       String name,
+                       String contentType,
+                       String patch,
+                       Class<T> dtoType) throws BadRequestException,
+                                                NotFoundException,
+                                                ConflictException,
+                                                UnauthorizedException,
+                                                ServerException {
+        if (patch == null || patch.trim().isEmpty()) {
+            throw new BadRequestException("Patch required");
+        }
+        final String resource = RESOURCES.get(kind);
+        if (resource == null) {
+            throw new BadRequestException("Patch of " + kind + " is not supported");
+        }
+        final OpenshiftServerInfo serverInfo = clientFactory.getClientInfo();
+        final UriBuilder uriBuilder;
+        if (ResourceKind.PROJECT.equals(kind)) {
+            uriBuilder = UriBuilder.fromPath(serverInfo.getOpenshiftEndpoint())
+                                   .path("/" + resource + "/{name}");
+        } else {
+            final boolean kubernetesKind = ResourceKind.SERVICE.equals(kind) || ResourceKind.REPLICATION_CONTROLLER.equals(kind);
+            uriBuilder = UriBuilder.fromPath(kubernetesKind ? serverInfo.getKubernetesEndpoint() : serverInfo.getOpenshiftEndpoint())
+                                   .path("/namespaces/{namespace}/" + resource + "/{name}")
+                                   .resolveTemplate("namespace", namespace);
+        }
+
+        try {
+            final URL url = uriBuilder.resolveTemplate("name", name).build().toURL();
+            final String response = clientFactory.getHttpClient().patch(url, contentType, patch, readTimeoutMs);
+            return DtoFactory.getInstance().createDtoFromJson(response, dtoType);
+        } catch (OpenshiftResponseException e) {
+            switch (e.getResponseCode()) {
+                case HttpURLConnection.HTTP_NOT_FOUND:
+                    throw new NotFoundException(e.getLocalizedMessage());
+                case HttpURLConnection.HTTP_CONFLICT:
+                    throw new ConflictException(e.getLocalizedMessage());
+                case HttpURLConnection.HTTP_BAD_REQUEST:
+                case HttpURLConnection.HTTP_UNSUPPORTED_TYPE:
+                case 422:
+                    throw new BadRequestException(e.getLocalizedMessage());
+                default:
+                    throw e;
+            }
+        } catch (IOException e) {
+            throw new ServerException("Unable to patch " + kind + " " + name + ". " + e.getLocalizedMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.http.IHttpClient;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps templates and image streams of shared namespaces, e.g. {@code openshift}, in memory of workspace agent.
+ *
+ * <p>Content of shared namespace is the same for every user who is allowed to list it, so the single copy
+ * serves all users. Access of each user is checked once in configured time with request which lists nothing.
+ * Copy is listed again in background once in refresh period with access token of the user who requested it last.
+ * Resource version of list changes on any write in the cluster, so objects are compared by their own
+ * resource versions and only new or changed ones are converted. Copy is kept as serialized JSON array
+ * which is served to all callers as is.
+ */
+@Singleton
+public class SharedCatalogCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedCatalogCache.class);
+
+    /** Label which objects don't have, list selected by it is empty but still requires permission to list objects */
+    private static final String ACCESS_CHECK_SELECTOR = "che.openshift.catalog/access-check";
+
+    private final ClientFactory                      clientFactory;
+    private final Set<String>                        namespaces;
+    private final long                               refreshPeriodMs;
+    private final ConcurrentMap<CatalogKey, Catalog> catalogs;
+    private final Cache<AccessKey, Boolean>          accessChecks;
+    private final ScheduledExecutorService           executor;
+
+    @Inject
+    public SharedCatalogCache(ClientFactory clientFactory,
+                              @Named("che.openshift.catalog.namespaces") String namespaces,
+                              @Named("che.openshift.catalog.refresh_period_sec") long refreshPeriodSec,
+                              @Named("che.openshift.catalog.access_check_ttl_sec") long accessCheckTtlSec) {
+        this.clientFactory = clientFactory;
+        this.namespaces = ImmutableSet.copyOf(Splitter.on(',').trimResults().omitEmptyStrings().split(namespaces));
+        this.refreshPeriodMs = TimeUnit.SECONDS.toMillis(refreshPeriodSec);
+        this.catalogs = new ConcurrentHashMap<>();
+        this.accessChecks = CacheBuilder.newBuilder()
+                                        .maximumSize(1000)
+                                        .expireAfterWrite(accessCheckTtlSec, TimeUnit.SECONDS)
+                                        .build();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("OpenshiftCatalogRefresher-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+    }
+
+    /** Returns {@code true} if objects of namespace are served from this cache */
+    public boolean isShared(String namespace) {
+        return namespaces.contains(namespace);
+    }
+
+    /**
+     * Returns templates of shared namespace as JSON array.
+     *
+     * @throws ForbiddenException
+     *         when user is not allowed to list templates of namespace
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when templates can't be listed
+     */
+    public String getTemplates(String namespace) throws ForbiddenException, UnauthorizedException, ServerException {
+        return list(ResourceKind.TEMPLATE, "templates", namespace, Template.class).json;
+    }
+
+    /**
+     * Returns image streams of shared namespace as JSON array.
+     *
+     * @throws ForbiddenException
+     *         when user is not allowed to list image streams of namespace
+     * @throws UnauthorizedException
+     *         when user did not have access token to openshift server
+     * @throws ServerException
+     *         when image streams can't be listed
+     */
+    public String getImageStreams(String namespace) throws ForbiddenException, UnauthorizedException, ServerException {
+        return list(ResourceKind.IMAGE_STREAM, "imagestreams", namespace, ImageStream.class).json;
+    }
+
+    /**
+     * Returns image streams of shared namespace which are shared by all callers, so they must not be modified.
+     *
+     * @see #getImageStreams(String)
+     */
+    @SuppressWarnings("unchecked")
+    List<ImageStream> getSharedImageStreams(String namespace) throws ForbiddenException, UnauthorizedException, ServerException {
+        return (List<ImageStream>)list(ResourceKind.IMAGE_STREAM, "imagestreams", namespace, ImageStream.class).objects;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private Catalog list(String kind, String resource, String namespace, Class<?> dtoType) throws ForbiddenException,
+                                                                                               UnauthorizedException,
+                                                                                               ServerException {
+        final OpenshiftHttpClient httpClient = clientFactory.getHttpClient();
+        final AccessKey accessKey = new AccessKey(clientFactory.getCurrentToken(), namespace, kind);
+        final Catalog catalog = catalogs.computeIfAbsent(new CatalogKey(namespace, kind),
+                                                         key -> new Catalog(kind, resource, namespace, dtoType));
+        catalog.httpClient = httpClient;
+        if (!catalog.isLoaded()) {
+            synchronized (catalog) {
+                if (!catalog.isLoaded()) {
+                    load(catalog, httpClient);
+                    // the list was just fetched with user's token, so there is no need to check access again
+                    accessChecks.put(accessKey, Boolean.TRUE);
+                    executor.scheduleWithFixedDelay(() -> refresh(catalog), refreshPeriodMs, refreshPeriodMs, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        checkAccess(accessKey, catalog, httpClient);
+        return catalog;
+    }
+
+    /** Lists objects again with access token of the user who requested them last */
+    private void refresh(Catalog catalog) {
+        try {
+            synchronized (catalog) {
+                load(catalog, catalog.httpClient);
+            }
+        } catch (ForbiddenException | UnauthorizedException | ServerException | RuntimeException e) {
+            LOG.debug("Unable to refresh {} of namespace {}. {}", catalog.resource, catalog.namespace, e.getMessage());
+        }
+    }
+
+    private void checkAccess(AccessKey accessKey, Catalog catalog, OpenshiftHttpClient httpClient) throws ForbiddenException,
+                                                                                                           UnauthorizedException,
+                                                                                                           ServerException {
+        try {
+            accessChecks.get(accessKey, () -> {
+                httpClient.get(catalog.getUrl(ACCESS_CHECK_SELECTOR), IHttpClient.DEFAULT_READ_TIMEOUT);
+                return Boolean.TRUE;
+            });
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof OpenshiftResponseException
+                && ((OpenshiftResponseException)cause).getResponseCode() == HttpURLConnection.HTTP_FORBIDDEN) {
+                throw new ForbiddenException(cause.getLocalizedMessage());
+            } else if (cause instanceof UnauthorizedException) {
+                throw (UnauthorizedException)cause;
+            } else if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    private void load(Catalog catalog, OpenshiftHttpClient httpClient) throws ForbiddenException, UnauthorizedException, ServerException {
+        final JsonObject list;
+        try {
+            list = new JsonParser().parse(httpClient.get(catalog.getUrl(null), IHttpClient.DEFAULT_READ_TIMEOUT)).getAsJsonObject();
+        } catch (OpenshiftResponseException e) {
+            if (e.getResponseCode() == HttpURLConnection.HTTP_FORBIDDEN) {
+                throw new ForbiddenException(e.getLocalizedMessage());
+            }
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new ServerException("Unable to list " + catalog.resource + " of namespace " + catalog.namespace + ". " + e.getMessage(), e);
+        }
+
+        final Map<String, Item> items = new LinkedHashMap<>();
+        boolean changed = catalog.items == null;
+        if (list.has("items") && list.get("items").isJsonArray()) {
+            for (JsonElement element : list.getAsJsonArray("items")) {
+                final JsonObject object = element.getAsJsonObject();
+                final String uid = getMetadata(object, "uid");
+                final String version = getMetadata(object, "resourceVersion");
+                final Item cached = catalog.items == null || uid == null ? null : catalog.items.get(uid);
+                if (cached != null && version != null && version.equals(cached.resourceVersion)) {
+                    items.put(uid, cached);
+                    continue;
+                }
+                // items of list don't contain kind and api version
+                if (!object.has("kind")) {
+                    object.addProperty("kind", catalog.kind);
+                }
+                if (!object.has("apiVersion") && list.has("apiVersion")) {
+                    object.add("apiVersion", list.get("apiVersion"));
+                }
+                final Object dto = DtoFactory.getInstance().createDtoFromJson(object, catalog.dtoType);
+                final String json = DtoFactory.getInstance().toJson(dto);
+                items.put(uid == null ? json : uid, new Item(version, dto, json));
+                changed = true;
+            }
+        }
+        // removed objects
+        changed |= catalog.items != null && !catalog.items.keySet().equals(items.keySet());
+
+        if (changed) {
+            final StringJoiner json = new StringJoiner(",", "[", "]");
+            final List<Object> objects = new ArrayList<>(items.size());
+            for (Item item : items.values()) {
+                json.add(item.json);
+                objects.add(item.dto);
+            }
+            catalog.objects = Collections.unmodifiableList(objects);
+            catalog.json = json.toString();
+            catalog.items = items;
+        }
+    }
+
+    private static String getMetadata(JsonObject object, String property) {
+        final JsonElement metadata = object.get("metadata");
+        final JsonElement value = metadata != null && metadata.isJsonObject() ? metadata.getAsJsonObject().get(property) : null;
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    /** Object, its serialized form and resource version */
+    private static final class Item {
+        private final String resourceVersion;
+        private final Object dto;
+        private final String json;
+
+        Item(String resourceVersion, Object dto, String json) {
+            this.resourceVersion = resourceVersion;
+            this.dto = dto;
+            this.json = json;
+        }
+    }
+
+    /** In-memory copy of objects of one kind in shared namespace */
+    private class Catalog {
+        private final String        kind;
+        private final String        resource;
+        private final String        namespace;
+        private final Class<?>      dtoType;
+
+        /** Objects by uid, accessed only while catalog is locked */
+        private Map<String, Item> items;
+
+        private volatile List<?>             objects;
+        private volatile String              json;
+        private volatile OpenshiftHttpClient httpClient;
+
+        Catalog(String kind, String resource, String namespace, Class<?> dtoType) {
+            this.kind = kind;
+            this.resource = resource;
+            this.namespace = namespace;
+            this.dtoType = dtoType;
+        }
+
+        boolean isLoaded() {
+            return json != null;
+        }
+
+        URL getUrl(String labelSelector) throws ServerException {
+            final UriBuilder uriBuilder = UriBuilder.fromPath(clientFactory.getClientInfo().getOpenshiftEndpoint())
+                                                    .path("/namespaces/{namespace}/" + resource);
+            if (labelSelector != null) {
+                uriBuilder.queryParam("labelSelector", labelSelector);
+            }
+            try {
+                return uriBuilder.build(namespace).toURL();
+            } catch (MalformedURLException e) {
+                throw new ServerException("Unable to list " + resource + ". " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class CatalogKey {
+        private final String namespace;
+        private final String kind;
+
+        CatalogKey(String namespace, String kind) {
+            this.namespace = namespace;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CatalogKey)) {
+                return false;
+            }
+            final CatalogKey other = (CatalogKey)obj;
+            return namespace.equals(other.namespace) && kind.equals(other.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(namespace, kind);
+        }
+    }
+
+    private static final class AccessKey {
+        private final String token;
+        private final String namespace;
+        private final String kind;
+
+        AccessKey(String token, String namespace, String kind) {
+            this.token = token;
+            this.namespace = namespace;
+            this.kind = kind;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AccessKey)) {
+                return false;
+            }
+            final AccessKey other = (AccessKey)obj;
+            return token.equals(other.token) && namespace.equals(other.namespace) && kind.equals(other.kind);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(token, namespace, kind);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.openshift.restclient.IClient;
+import com.openshift.restclient.ResourceKind;
+import com.openshift.restclient.capability.resources.IProjectTemplateProcessing;
+import com.openshift.restclient.model.IProject;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Parameter;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
+import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+
+/**
+ * Processes templates in the same way as openshift server does, but without request to it.
+ *
+ * <ul>
+ * <li>values of parameters with {@code generate: expression} are generated from {@code from} expression,
+ * e.g. {@code [a-zA-Z0-9]{8}}, if they are not specified</li>
+ * <li>required parameters without value are rejected</li>
+ * <li>{@code ${PARAM}} in string values of objects and template labels is replaced with value of parameter,
+ * string which is exactly {@code ${{PARAM}}} is replaced with json value of parameter</li>
+ * <li>template labels are added to labels of each object, object label with different value is rejected;
+ * they are also added to labels of pod template of deployment configs and replication controllers replacing
+ * its own values; build configs have no pod template and objects of nested templates are not labeled</li>
+ * </ul>
+ *
+ * <p>If verification is enabled then the same template with the same parameter values is also processed
+ * by openshift server in background and difference of results is logged.
+ */
+@Singleton
+public class TemplateProcessor {
+    private static final Logger LOG  = LoggerFactory.getLogger(TemplateProcessor.class);
+    private static final Gson   GSON = new Gson();
+
+    private static final Pattern STRING_PARAMETER     = Pattern.compile("\\$\\{([a-zA-Z0-9_]+?)\\}");
+    private static final Pattern NON_STRING_PARAMETER = Pattern.compile("^\\$\\{\\{([a-zA-Z0-9_]+)\\}\\}$");
+    private static final Pattern GENERATOR            = Pattern.compile("\\[([a-zA-Z0-9\\-\\\\]+)\\](\\{(\\w+)\\})");
+    private static final Pattern RANGE                = Pattern.compile("(\\\\?[a-zA-Z0-9]-?[a-zA-Z0-9]?)");
+
+    private static final String EXPRESSION_GENERATOR = "expression";
+    private static final int    MAX_GENERATED_LENGTH = 255;
+    private static final String ALPHABET             = "abcdefghijklmnopqrstuvwxyz";
+    private static final String NUMERALS             = "0123456789";
+    private static final String SYMBOLS              = "~!@#$%^&*()-_+={}[]\\|<,>.?/\"';:`";
+
+    private static final Map<String, String> CHARACTER_CLASSES = ImmutableMap.of("\\w", ALPHABET + ALPHABET.toUpperCase() + NUMERALS + "_",
+                                                                                 "\\d", NUMERALS,
+                                                                                 "\\a", ALPHABET + ALPHABET.toUpperCase(),
+                                                                                 "\\A", SYMBOLS);
+
+    private static final TypeAdapter<JsonElement> JSON_ADAPTER = GSON.getAdapter(JsonElement.class);
+
+    private final ClientFactory   clientFactory;
+    private final boolean         verify;
+    private final ExecutorService verifier;
+    private final SecureRandom    random;
+
+    @Inject
+    public TemplateProcessor(ClientFactory clientFactory, @Named("che.openshift.template.verify_remotely") boolean verify) {
+        this.clientFactory = clientFactory;
+        this.verify = verify;
+        this.verifier = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("OpenshiftTemplateVerifier-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+        this.random = new SecureRandom();
+    }
+
+    /**
+     * Returns copy of template with values of all parameters and processed objects.
+     *
+     * @param namespace
+     *         namespace in which objects of template will be created
+     * @param template
+     *         template to process
+     * @throws BadRequestException
+     *         when value of required parameter is not specified or it can't be generated,
+     *         or when object has label with different value than template label
+     * @throws UnauthorizedException
+     *         when verification is enabled and user did not have access token to openshift server
+     * @throws ServerException
+     *         when verification is enabled and some exception occurs during getting of access token
+     */
+    public Template process(String namespace, Template template) throws BadRequestException, UnauthorizedException, ServerException {
+        final Template processed = DtoFactory.getInstance().clone(template);
+
+        final Map<String, String> values = new HashMap<>();
+        if (processed.getParameters() != null) {
+            for (Parameter parameter : processed.getParameters()) {
+                String value = parameter.getValue();
+                if (isNullOrEmpty(value) && !isNullOrEmpty(parameter.getGenerate())) {
+                    if (!EXPRESSION_GENERATOR.equals(parameter.getGenerate())) {
+                        throw new BadRequestException("Unable to find the '" + parameter.getGenerate() + "' generator for parameter "
+                                                      + parameter.getName());
+                    }
+                    value = generate(parameter.getName(), parameter.getFrom());
+                    parameter.setValue(value);
+                }
+                if (isNullOrEmpty(value) && parameter.getRequired()) {
+                    throw new BadRequestException("Template parameter " + parameter.getName() + " is required and must be specified");
+                }
+                values.put(parameter.getName(), value == null ? "" : value);
+            }
+        }
+
+        final Map<String, String> labels = new HashMap<>();
+        if (processed.getLabels() != null) {
+            for (Map.Entry<String, String> label : processed.getLabels().entrySet()) {
+                labels.put(label.getKey(), substituteString(label.getValue(), values));
+            }
+            processed.setLabels(labels);
+        }
+
+        final List<Object> objects = new ArrayList<>();
+        if (processed.getObjects() != null) {
+            for (Object object : processed.getObjects()) {
+                final JsonElement json = substitute(toJsonElement(object), values);
+                if (json.isJsonObject() && !labels.isEmpty()) {
+                    addLabels(json.getAsJsonObject(), labels);
+                }
+                objects.add(json);
+            }
+        }
+        processed.setObjects(objects);
+
+        if (verify) {
+            verify(clientFactory.getOpenshiftClient(), namespace, processed);
+        }
+        return processed;
+    }
+
+    @PreDestroy
+    public void stop() {
+        verifier.shutdownNow();
+    }
+
+    /** Processes template with already resolved parameters by openshift server and logs difference with local result */
+    private void verify(IClient client, String namespace, Template processed) {
+        final Template template = DtoFactory.getInstance().clone(processed);
+        template.setObjects(new ArrayList<>(processed.getObjects()));
+        final String name = processed.getMetadata() == null ? null : processed.getMetadata().getName();
+        verifier.execute(() -> {
+            try {
+                final IProject project = client.get(ResourceKind.PROJECT, namespace, namespace);
+                final IProjectTemplateProcessing capability = project.getCapability(IProjectTemplateProcessing.class);
+                final Template remote = toDto(Template.class, capability.process(toOpenshiftResource(client, template)));
+                final JsonArray remoteObjects = new JsonArray();
+                for (Object object : remote.getObjects()) {
+                    remoteObjects.add(toJsonElement(object));
+                }
+                final JsonArray localObjects = new JsonArray();
+                processed.getObjects().forEach(object -> localObjects.add(toJsonElement(object)));
+                if (!localObjects.equals(remoteObjects)) {
+                    LOG.warn("Template {} is processed locally differently from openshift server. Local: {} Remote: {}",
+                             name, localObjects, remoteObjects);
+                }
+            } catch (UnauthorizedException | ServerException | RuntimeException e) {
+                LOG.warn("Unable to verify processing of template {}. {}", name, e.getMessage());
+            }
+        });
+    }
+
+    /** Generates value from expression, e.g. {@code admin[a-z]{4}} */
+    private String generate(String parameter, String expression) throws BadRequestException {
+        if (expression == null) {
+            throw new BadRequestException("Expression of generated parameter " + parameter + " is not specified");
+        }
+        final StringBuilder result = new StringBuilder();
+        final Matcher matcher = GENERATOR.matcher(expression);
+        int last = 0;
+        while (matcher.find()) {
+            final int length;
+            try {
+                length = Integer.parseInt(matcher.group(3));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid length of generated value of parameter " + parameter + ": " + matcher.group(3));
+            }
+            if (length <= 0 || length > MAX_GENERATED_LENGTH) {
+                throw new BadRequestException("Length of generated value of parameter " + parameter + " must be within [1-"
+                                              + MAX_GENERATED_LENGTH + "] characters (" + length + ")");
+            }
+            final String alphabet = getAlphabet(parameter, matcher.group(1));
+            result.append(expression, last, matcher.start());
+            for (int i = 0; i < length; i++) {
+                result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            last = matcher.end();
+        }
+        return result.append(expression, last, expression.length()).toString();
+    }
+
+    /** Returns characters of ranges, e.g. {@code a-z0-9\A} */
+    private static String getAlphabet(String parameter, String ranges) throws BadRequestException {
+        final Set<Character> characters = new LinkedHashSet<>();
+        final Matcher matcher = RANGE.matcher(ranges);
+        while (matcher.find()) {
+            final String range = matcher.group(1);
+            if (range.charAt(0) == '\\') {
+                final String characterClass = CHARACTER_CLASSES.get(range);
+                if (characterClass == null) {
+                    throw new BadRequestException("'" + range + "' is invalid character class in expression of parameter " + parameter);
+                }
+                characterClass.chars().forEach(c -> characters.add((char)c));
+            } else if (range.length() == 3 && range.charAt(1) == '-') {
+                if (range.charAt(0) > range.charAt(2)) {
+                    throw new BadRequestException("Invalid range " + range + " in expression of parameter " + parameter);
+                }
+                for (char c = range.charAt(0); c <= range.charAt(2); c++) {
+                    characters.add(c);
+                }
+            } else {
+                range.chars().forEach(c -> characters.add((char)c));
+            }
+        }
+        final StringBuilder alphabet = new StringBuilder(characters.size());
+        characters.forEach(alphabet::append);
+        return alphabet.toString();
+    }
+
+    private static JsonElement substitute(JsonElement element, Map<String, String> values) {
+        if (element.isJsonObject()) {
+            final JsonObject result = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                result.add(entry.getKey(), substitute(entry.getValue(), values));
+            }
+            return result;
+        }
+        if (element.isJsonArray()) {
+            final JsonArray result = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                result.add(substitute(item, values));
+            }
+            return result;
+        }
+        if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isString()) {
+            final String value = element.getAsString();
+            final Matcher matcher = NON_STRING_PARAMETER.matcher(value);
+            if (matcher.matches() && values.containsKey(matcher.group(1))) {
+                return parseValue(values.get(matcher.group(1)));
+            }
+            return new JsonPrimitive(substituteString(value, values));
+        }
+        return element;
+    }
+
+    /** Replaces references to known parameters, references to unknown ones are left as is */
+    private static String substituteString(String value, Map<String, String> values) {
+        if (value == null || value.indexOf('$') == -1) {
+            return value;
+        }
+        final Matcher matcher = STRING_PARAMETER.matcher(value);
+        final StringBuffer result = new StringBuffer();
+        while (matcher.find()) {
+            final String parameterValue = values.get(matcher.group(1));
+            matcher.appendReplacement(result, Matcher.quoteReplacement(parameterValue == null ? matcher.group() : parameterValue));
+        }
+        return matcher.appendTail(result).toString();
+    }
+
+    /** Returns json value of parameter for non-string substitution, or the value as string if it isn't valid json */
+    private static JsonElement parseValue(String value) {
+        try {
+            final JsonReader reader = new JsonReader(new StringReader(value));
+            reader.setLenient(false);
+            final JsonElement result = JSON_ADAPTER.read(reader);
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return result;
+            }
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return new JsonPrimitive(value);
+    }
+
+    private static void addLabels(JsonObject object, Map<String, String> labels) throws BadRequestException {
+        final JsonObject objectLabels = getLabels(object);
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            final JsonElement value = objectLabels.get(label.getKey());
+            if (value != null && !(value.isJsonPrimitive() && value.getAsString().equals(label.getValue()))) {
+                throw new BadRequestException("Template labels could not be applied to " + getString(object, "kind") + " "
+                                              + getString(object.getAsJsonObject("metadata"), "name") + ": label "
+                                              + label.getKey() + " already exists with different value " + value);
+            }
+            objectLabels.addProperty(label.getKey(), label.getValue());
+        }
+
+        // pods created from template should have the same labels, as openshift does it replaces their own values
+        final String kind = getString(object, "kind");
+        if ("DeploymentConfig".equals(kind) || "ReplicationController".equals(kind)) {
+            final JsonElement spec = object.get("spec");
+            final JsonElement podTemplate = spec != null && spec.isJsonObject() ? spec.getAsJsonObject().get("template") : null;
+            if (podTemplate != null && podTemplate.isJsonObject()) {
+                final JsonObject podLabels = getLabels(podTemplate.getAsJsonObject());
+                labels.forEach(podLabels::addProperty);
+            }
+        }
+    }
+
+    /** Returns labels of object creating its metadata and labels if they are absent */
+    private static JsonObject getLabels(JsonObject object) {
+        if (!object.has("metadata") || !object.get("metadata").isJsonObject()) {
+            object.add("metadata", new JsonObject());
+        }
+        final JsonObject metadata = object.getAsJsonObject("metadata");
+        if (!metadata.has("labels") || !metadata.get("labels").isJsonObject()) {
+            metadata.add("labels", new JsonObject());
+        }
+        return metadata.getAsJsonObject("labels");
+    }
+
+    private static String getString(JsonObject object, String property) {
+        final JsonElement value = object.get(property);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    private static JsonElement toJsonElement(Object object) {
+        return object instanceof JsonElement ? (JsonElement)object : GSON.toJsonTree(object);
+    }
+
+    private static boolean isNullOrEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -15,10 +15,15 @@ import com.google.inject.multibindings.Multibinder;
 
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.ide.ext.openshift.server.OpenshiftProjectType;
+import org.eclipse.che.ide.ext.openshift.server.rest.ApplicationService;
+import org.eclipse.che.ide.ext.openshift.server.rest.BatchService;
 import org.eclipse.che.ide.ext.openshift.server.rest.BuildConfigService;
 import org.eclipse.che.ide.ext.openshift.server.rest.BuildService;
+import org.eclipse.che.ide.ext.openshift.server.rest.BuildWatchService;
 import org.eclipse.che.ide.ext.openshift.server.rest.DeploymentConfigService;
 import org.eclipse.che.ide.ext.openshift.server.rest.ImageStreamService;
+import org.eclipse.che.ide.ext.openshift.server.rest.ImageStreamTagService;
+import org.eclipse.che.ide.ext.openshift.server.rest.MetricsService;
 import org.eclipse.che.ide.ext.openshift.server.rest.OpenshiftApiInfoService;
 import org.eclipse.che.ide.ext.openshift.server.rest.OpenshiftExceptionMapper;
 import org.eclipse.che.ide.ext.openshift.server.rest.ProjectService;
@@ -36,6 +41,7 @@ public class OpenshiftModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(ImageStreamService.class);
+        bind(ImageStreamTagService.class);
         bind(DeploymentConfigService.class);
         bind(BuildConfigService.class);
         bind(RouteService.class);
@@ -45,7 +51,11 @@ public class OpenshiftModule extends AbstractModule {
         bind(BuildService.class);
         bind(OpenshiftApiInfoService.class);
         bind(ReplicationControllerService.class);
+        bind(ApplicationService.class);
+        bind(BatchService.class);
+        bind(BuildWatchService.class);
         bind(OpenshiftExceptionMapper.class);
+        bind(MetricsService.class);
 
         final Multibinder<ProjectTypeDef> projectTypeMultibinder = Multibinder.newSetBinder(binder(), ProjectTypeDef.class);
         projectTypeMultibinder.addBinding().to(OpenshiftProjectType.class);
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.jfr;
+
+/**
+ * Starts flight recorder events of the plugin, implemented by {@code FlightRecorderEvents}
+ * which is compiled only when the build runs on JDK with {@code jdk.jfr} API.
+ */
+interface EventFactory {
+    /** Factory of calls which are not recorded */
+    EventFactory NOOP = new EventFactory() {
+        @Override
+        public RecordedCall upstreamCall() {
+            return RecordedCall.NOOP;
+        }
+
+        @Override
+        public RecordedCall conversion() {
+            return RecordedCall.NOOP;
+        }
+
+        @Override
+        public RecordedCall clientAcquisition() {
+            return RecordedCall.NOOP;
+        }
+    };
+
+    RecordedCall upstreamCall();
+
+    RecordedCall conversion();
+
+    RecordedCall clientAcquisition();
+}
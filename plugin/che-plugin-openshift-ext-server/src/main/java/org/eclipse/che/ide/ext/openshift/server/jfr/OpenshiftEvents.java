@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.jfr;
+
+/**
+ * Starts flight recorder events of calls to openshift server, DTO conversions and acquisitions of openshift client.
+ *
+ * <p>Event classes are always compiled from {@code src/main/jfr} into the plugin, but events are emitted only
+ * when {@code jdk.jfr} API is available in the running JVM. Otherwise calls are not recorded and event classes
+ * are never loaded.
+ */
+public final class OpenshiftEvents {
+    private static final String FLIGHT_RECORDER_EVENTS = "org.eclipse.che.ide.ext.openshift.server.jfr.FlightRecorderEvents";
+
+    private static final EventFactory FACTORY = loadFactory();
+
+    private OpenshiftEvents() {
+    }
+
+    /** Starts event of call to openshift server */
+    public static RecordedCall upstreamCall() {
+        return FACTORY.upstreamCall();
+    }
+
+    /** Starts event of conversion between openshift resource and DTO */
+    public static RecordedCall conversion() {
+        return FACTORY.conversion();
+    }
+
+    /** Starts event of acquisition of openshift client or http client of user */
+    public static RecordedCall clientAcquisition() {
+        return FACTORY.clientAcquisition();
+    }
+
+    private static EventFactory loadFactory() {
+        final ClassLoader classLoader = OpenshiftEvents.class.getClassLoader();
+        try {
+            Class.forName("jdk.jfr.Event", false, classLoader);
+            return (EventFactory)Class.forName(FLIGHT_RECORDER_EVENTS, true, classLoader).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return EventFactory.NOOP;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.jfr;
+
+/**
+ * Flight recorder event which is started and waits for completion of the recorded call.
+ */
+public interface RecordedCall {
+    /** Payload size of call which doesn't expose its body */
+    long UNKNOWN_SIZE = -1;
+
+    /** Call which is not recorded, used when flight recorder isn't available */
+    RecordedCall NOOP = (kind, namespace, operation, payloadBytes) -> {};
+
+    /**
+     * Completes call and records it if flight recorder is enabled for its event.
+     *
+     * @param kind
+     *         kind of openshift resource, {@code null} if call isn't related to resource
+     * @param namespace
+     *         namespace of resource, {@code null} if resource doesn't belong to namespace
+     * @param operation
+     *         name of operation, e.g. method of openshift client or http method
+     * @param payloadBytes
+     *         size of payload or {@link #UNKNOWN_SIZE}
+     */
+    void complete(String kind, String namespace, String operation, long payloadBytes);
+}
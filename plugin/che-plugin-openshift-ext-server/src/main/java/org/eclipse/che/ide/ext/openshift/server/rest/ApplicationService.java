@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.rest;
+
+import org.eclipse.che.ide.ext.openshift.server.ApplicationResolver;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+
+/**
+ * Provides names of applications of all namespaces and openshift objects which are related to application in one request.
+ */
+@Path("/openshift")
+public class ApplicationService {
+    private final ApplicationResolver      applicationResolver;
+    private final OpenshiftRequestExecutor executor;
+
+    @Inject
+    public ApplicationService(ApplicationResolver applicationResolver, OpenshiftRequestExecutor executor) {
+        this.applicationResolver = applicationResolver;
+        this.executor = executor;
+    }
+
+    @GET
+    @Path("/application")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getApplications(@Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(null, "getApplications", emptyList(), asyncResponse, () -> {
+            return applicationResolver.getApplications();
+        });
+    }
+
+    @GET
+    @Path("/namespace/{namespace}/application/{buildConfig}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getApplication(@PathParam("namespace") String namespace,
+                               @PathParam("buildConfig") String buildConfig,
+                               @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getApplication", asList(namespace, buildConfig), asyncResponse, () -> {
+            return applicationResolver.resolve(namespace, buildConfig);
+        });
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.rest;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.ide.ext.openshift.server.ApplicationResolver;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceBatchCreator;
+import org.eclipse.che.ide.ext.openshift.shared.dto.ResourceBatch;
+
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Creates openshift objects of different kinds by one request.
+ */
+@Path("/openshift/namespace/{namespace}/batch")
+public class BatchService {
+    private final ResourceBatchCreator     batchCreator;
+    private final ApplicationResolver      applicationResolver;
+    private final OpenshiftRequestExecutor executor;
+
+    @Inject
+    public BatchService(ResourceBatchCreator batchCreator, ApplicationResolver applicationResolver, OpenshiftRequestExecutor executor) {
+        this.batchCreator = batchCreator;
+        this.applicationResolver = applicationResolver;
+        this.executor = executor;
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public void createResources(@PathParam("namespace") String namespace,
+                                ResourceBatch batch,
+                                @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createResources", asyncResponse, () -> {
+            if (batch == null) {
+                throw new BadRequestException("Batch of resources required");
+            }
+            try {
+                return batchCreator.create(namespace, batch.getItems());
+            } finally {
+                applicationResolver.invalidateApplications();
+            }
+        });
+    }
+}
@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
-
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IBuildConfig;
@@ -19,115 +18,159 @@ import com.openshift.restclient.model.build.IWebhookTrigger;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.ide.ext.openshift.server.ApplicationResolver;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
 import org.eclipse.che.ide.ext.openshift.shared.dto.BuildConfig;
 import org.eclipse.che.ide.ext.openshift.shared.dto.WebHook;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/namespace/{namespace}/buildconfig")
 public class BuildConfigService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final ResourcePatcher          resourcePatcher;
+    private final ApplicationResolver      applicationResolver;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public BuildConfigService(ClientFactory clientFactory) {
+    public BuildConfigService(ClientFactory clientFactory, ResourceListCache listCache, ResourcePatcher resourcePatcher,
+                              ApplicationResolver applicationResolver, OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.resourcePatcher = resourcePatcher;
+        this.applicationResolver = applicationResolver;
+        this.executor = executor;
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public BuildConfig createBuildConfig(@PathParam("namespace") String namespace,
-                                         BuildConfig buildConfig) throws BadRequestException, UnauthorizedException, ServerException {
-        if (buildConfig.getKind() == null) {
-            buildConfig.setKind(ResourceKind.BUILD_CONFIG);
-        }
-        if (!ResourceKind.BUILD_CONFIG.equals(buildConfig.getKind())) {
-            throw new BadRequestException(buildConfig.getKind() + " cannot be handled as a " + ResourceKind.BUILD_CONFIG);
-        }
+    public void createBuildConfig(@PathParam("namespace") String namespace,
+                                  BuildConfig buildConfig,
+                                  @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createBuildConfig", asyncResponse, () -> {
+            if (buildConfig.getKind() == null) {
+                buildConfig.setKind(ResourceKind.BUILD_CONFIG);
+            }
+            if (!ResourceKind.BUILD_CONFIG.equals(buildConfig.getKind())) {
+                throw new BadRequestException(buildConfig.getKind() + " cannot be handled as a " + ResourceKind.BUILD_CONFIG);
+            }
 
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IBuildConfig openshiftBuildConfig = toOpenshiftResource(client, buildConfig);
-        return toDto(BuildConfig.class, client.create(openshiftBuildConfig, namespace));
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IBuildConfig openshiftBuildConfig = toOpenshiftResource(client, buildConfig);
+            final BuildConfig created = toDto(BuildConfig.class, client.create(openshiftBuildConfig, namespace));
+            applicationResolver.invalidateApplications();
+            return created;
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<BuildConfig> getBuildConfigs(@PathParam("namespace") String namespace,
-                                             @QueryParam("application") String application) throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
-        List<IBuildConfig> buildConfigs = clientFactory.getOpenshiftClient().list(ResourceKind.BUILD_CONFIG, namespace, labels);
-        return buildConfigs.stream()
-                           .map(imageStream -> toDto(BuildConfig.class, imageStream))
-                           .collect(Collectors.toList());
+    public void getBuildConfigs(@PathParam("namespace") String namespace,
+                                @QueryParam("application") String application,
+                                @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getBuildConfigs", asList(namespace, application), asyncResponse, () -> {
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
+            return listCache.list(ResourceKind.BUILD_CONFIG, namespace, labels, BuildConfig.class);
+        });
     }
 
     @GET
     @Path("/{buildConfig}")
     @Produces(MediaType.APPLICATION_JSON)
-    public BuildConfig getBuildConfig(@PathParam("namespace") String namespace,
-                                      @PathParam("buildConfig") String buildConfig) throws UnauthorizedException, ServerException {
-
-        return toDto(BuildConfig.class, clientFactory.getOpenshiftClient().get(ResourceKind.BUILD_CONFIG, buildConfig, namespace));
+    public void getBuildConfig(@PathParam("namespace") String namespace,
+                               @PathParam("buildConfig") String buildConfig,
+                               @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getBuildConfig", asList(namespace, buildConfig), asyncResponse, () -> {
+            return toDto(BuildConfig.class, clientFactory.getOpenshiftClient().get(ResourceKind.BUILD_CONFIG, buildConfig, namespace));
+        });
     }
 
     @PUT
     @Path("/{buildConfig}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public BuildConfig updateBuildConfig(@PathParam("namespace") String namespace,
-                                         @PathParam("buildConfig") String buildConfigName,
-                                         BuildConfig buildConfig) throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!buildConfigName.equals(buildConfig.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(BuildConfig.class, client.update(toOpenshiftResource(client, buildConfig)));
+    public void updateBuildConfig(@PathParam("namespace") String namespace,
+                                  @PathParam("buildConfig") String buildConfigName,
+                                  BuildConfig buildConfig,
+                                  @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "updateBuildConfig", asyncResponse, () -> {
+            if (!buildConfigName.equals(buildConfig.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(BuildConfig.class, client.update(toOpenshiftResource(client, buildConfig)));
+        });
+    }
+
+    @PATCH
+    @Path("/{buildConfig}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchBuildConfig(@PathParam("namespace") String namespace,
+                                 @PathParam("buildConfig") String name,
+                                 @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                 String patch,
+                                 @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "patchBuildConfig", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.BUILD_CONFIG, namespace, name, contentType, patch, BuildConfig.class);
+        });
     }
 
     @GET
     @Path("/{buildConfig}/webhook")
     @Produces(MediaType.APPLICATION_JSON)
-    public List<WebHook> getBuildConfigWebHooks(@PathParam("namespace") String namespace,
-                                                @PathParam("buildConfig") String buildConfigName) throws UnauthorizedException,
-                                                                                                         ServerException {
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IBuildConfig buildConfig = client.get(ResourceKind.BUILD_CONFIG, buildConfigName, namespace);
-        final List<WebHook> result = new ArrayList<>();
-        for (IBuildTrigger iBuildTrigger : buildConfig.getBuildTriggers()) {
-            if (iBuildTrigger instanceof IWebhookTrigger) {
-                final IWebhookTrigger webhookTrigger = (IWebhookTrigger)iBuildTrigger;
-                result.add(newDto(WebHook.class).withUrl(webhookTrigger.getWebhookURL())
-                                                .withType(webhookTrigger.getType())
-                                                .withSecret(webhookTrigger.getSecret()));
+    public void getBuildConfigWebHooks(@PathParam("namespace") String namespace,
+                                       @PathParam("buildConfig") String buildConfigName,
+                                       @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getBuildConfigWebHooks", asList(namespace, buildConfigName), asyncResponse, () -> {
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IBuildConfig buildConfig = client.get(ResourceKind.BUILD_CONFIG, buildConfigName, namespace);
+            final List<WebHook> result = new ArrayList<>();
+            for (IBuildTrigger iBuildTrigger : buildConfig.getBuildTriggers()) {
+                if (iBuildTrigger instanceof IWebhookTrigger) {
+                    final IWebhookTrigger webhookTrigger = (IWebhookTrigger)iBuildTrigger;
+                    result.add(newDto(WebHook.class).withUrl(webhookTrigger.getWebhookURL())
+                                                    .withType(webhookTrigger.getType())
+                                                    .withSecret(webhookTrigger.getSecret()));
+                }
             }
-        }
-        return result;
+            return result;
+        });
     }
 }
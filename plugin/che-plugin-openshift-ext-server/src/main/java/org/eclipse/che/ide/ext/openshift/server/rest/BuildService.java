@@ -13,28 +13,29 @@ package org.eclipse.che.ide.ext.openshift.server.rest;
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.capability.resources.IBuildTriggerable;
-import com.openshift.restclient.model.IBuild;
 import com.openshift.restclient.model.IBuildConfig;
 
-import org.eclipse.che.api.core.BadRequestException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.ide.ext.openshift.server.BuildLogHub;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Build;
 
 import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 
 /**
@@ -42,45 +43,77 @@ import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
  */
 @Path("/openshift/namespace/{namespace}/build")
 public class BuildService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final BuildLogHub              buildLogHub;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public BuildService(ClientFactory clientFactory) {
+    public BuildService(ClientFactory clientFactory, ResourceListCache listCache, BuildLogHub buildLogHub,
+                        OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.buildLogHub = buildLogHub;
+        this.executor = executor;
     }
 
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/{buildConfig}")
-    public Build createBuild(@PathParam("namespace") String namespace,
-                             @PathParam("buildConfig") String buildConfig)
-            throws BadRequestException, UnauthorizedException, ServerException {
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IBuildConfig iBuildConfig = client.get(ResourceKind.BUILD_CONFIG, buildConfig, namespace);
-        final IBuildTriggerable buildConfigTrigger = iBuildConfig.getCapability(IBuildTriggerable.class);
-        return toDto(Build.class, buildConfigTrigger.trigger());
+    public void createBuild(@PathParam("namespace") String namespace,
+                            @PathParam("buildConfig") String buildConfig,
+                            @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createBuild", asyncResponse, () -> {
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IBuildConfig iBuildConfig = client.get(ResourceKind.BUILD_CONFIG, buildConfig, namespace);
+            final IBuildTriggerable buildConfigTrigger = iBuildConfig.getCapability(IBuildTriggerable.class);
+            return toDto(Build.class, buildConfigTrigger.trigger());
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Build> getBuilds(@PathParam("namespace") String namespace,
-                                 @QueryParam("application") String application) throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
-        List<IBuild> imageStreams = clientFactory.getOpenshiftClient().list(ResourceKind.BUILD, namespace, labels);
-        return imageStreams.stream()
-                           .map(imageStream -> toDto(Build.class, imageStream))
-                           .collect(Collectors.toList());
+    public void getBuilds(@PathParam("namespace") String namespace,
+                          @QueryParam("application") String application,
+                          @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getBuilds", asList(namespace, application), asyncResponse, () -> {
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
+            return listCache.list(ResourceKind.BUILD, namespace, labels, Build.class);
+        });
     }
 
     @GET
     @Path("/{build}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Build getBuild(@PathParam("namespace") String namespace,
-                          @PathParam("build") String build) throws UnauthorizedException, ServerException {
+    public void getBuild(@PathParam("namespace") String namespace,
+                         @PathParam("build") String build,
+                         @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getBuild", asList(namespace, build), asyncResponse, () -> {
+            return toDto(Build.class, clientFactory.getOpenshiftClient().get(ResourceKind.BUILD, build, namespace));
+        });
+    }
 
-        return toDto(Build.class, clientFactory.getOpenshiftClient().get(ResourceKind.BUILD, build, namespace));
+    /**
+     * Returns range of lines of build log, new lines of running build are sent to websocket channel of returned log.
+     *
+     * @param from
+     *         number of the first returned line, lines are numbered from zero
+     * @param limit
+     *         maximum number of returned lines
+     */
+    @GET
+    @Path("/{build}/log")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getBuildLog(@PathParam("namespace") String namespace,
+                            @PathParam("build") String build,
+                            @DefaultValue("0") @QueryParam("from") long from,
+                            @DefaultValue("" + Integer.MAX_VALUE) @QueryParam("limit") int limit,
+                            @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getBuildLog", asList(namespace, build, from, limit), asyncResponse, () -> {
+            return buildLogHub.read(namespace, build, from, limit);
+        });
     }
 }
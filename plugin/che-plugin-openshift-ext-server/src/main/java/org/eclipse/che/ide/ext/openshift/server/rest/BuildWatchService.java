@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.rest;
+
+import org.eclipse.che.ide.ext.openshift.server.BuildWatchHub;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.shared.dto.WatchChannel;
+
+import javax.inject.Inject;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Subscribes IDE to changes of builds of namespace which are sent over websocket of workspace agent.
+ */
+@Path("/openshift/namespace/{namespace}/watch/build")
+public class BuildWatchService {
+    private final BuildWatchHub            buildWatchHub;
+    private final OpenshiftRequestExecutor executor;
+
+    @Inject
+    public BuildWatchService(BuildWatchHub buildWatchHub, OpenshiftRequestExecutor executor) {
+        this.buildWatchHub = buildWatchHub;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts or renews watching of builds, subscription should be renewed
+     * more often than {@code che.openshift.build_watch.lease_sec}.
+     */
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    public void watchBuilds(@PathParam("namespace") String namespace,
+                            @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "watchBuilds", asyncResponse, () -> {
+            return newDto(WatchChannel.class).withChannel(buildWatchHub.subscribe(namespace));
+        });
+    }
+}
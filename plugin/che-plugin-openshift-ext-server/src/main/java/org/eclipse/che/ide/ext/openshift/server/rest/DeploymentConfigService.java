@@ -10,102 +10,135 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
-
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IDeploymentConfig;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
 import org.eclipse.che.ide.ext.openshift.shared.dto.DeploymentConfig;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/namespace/{namespace}/deploymentconfig")
 public class DeploymentConfigService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final ResourcePatcher          resourcePatcher;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public DeploymentConfigService(ClientFactory clientFactory) {
+    public DeploymentConfigService(ClientFactory clientFactory, ResourceListCache listCache, ResourcePatcher resourcePatcher,
+                                   OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.resourcePatcher = resourcePatcher;
+        this.executor = executor;
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public DeploymentConfig createDeploymentConfig(@PathParam("namespace") String namespace,
-                                                   DeploymentConfig deploymentConfig)
-            throws BadRequestException, UnauthorizedException, ServerException {
-        if (deploymentConfig.getKind() == null) {
-            deploymentConfig.setKind(ResourceKind.DEPLOYMENT_CONFIG);
-        }
-        if (!ResourceKind.DEPLOYMENT_CONFIG.equals(deploymentConfig.getKind())) {
-            throw new BadRequestException(deploymentConfig.getKind() + " cannot be handled as a " + ResourceKind.DEPLOYMENT_CONFIG);
-        }
+    public void createDeploymentConfig(@PathParam("namespace") String namespace,
+                                       DeploymentConfig deploymentConfig,
+                                       @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createDeploymentConfig", asyncResponse, () -> {
+            if (deploymentConfig.getKind() == null) {
+                deploymentConfig.setKind(ResourceKind.DEPLOYMENT_CONFIG);
+            }
+            if (!ResourceKind.DEPLOYMENT_CONFIG.equals(deploymentConfig.getKind())) {
+                throw new BadRequestException(deploymentConfig.getKind() + " cannot be handled as a " + ResourceKind.DEPLOYMENT_CONFIG);
+            }
 
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IDeploymentConfig openshiftDeploymentConfig = toOpenshiftResource(client, deploymentConfig);
-        return toDto(DeploymentConfig.class, client.create(openshiftDeploymentConfig, namespace));
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IDeploymentConfig openshiftDeploymentConfig = toOpenshiftResource(client, deploymentConfig);
+            return toDto(DeploymentConfig.class, client.create(openshiftDeploymentConfig, namespace));
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<DeploymentConfig> getDeploymentConfigs(@PathParam("namespace") String namespace,
-                                                       @QueryParam("application") String application) throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
-        List<IDeploymentConfig> deploymentConfigs = clientFactory.getOpenshiftClient().list(ResourceKind.DEPLOYMENT_CONFIG, namespace, labels);
-        return deploymentConfigs.stream()
-                                .map(imageStream -> toDto(DeploymentConfig.class, imageStream))
-                                .collect(Collectors.toList());
+    public void getDeploymentConfigs(@PathParam("namespace") String namespace,
+                                     @QueryParam("application") String application,
+                                     @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getDeploymentConfigs", asList(namespace, application), asyncResponse, () -> {
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
+            return listCache.list(ResourceKind.DEPLOYMENT_CONFIG, namespace, labels, DeploymentConfig.class);
+        });
     }
 
     @GET
     @Path("/{deploymentConfig}")
     @Produces(MediaType.APPLICATION_JSON)
-    public DeploymentConfig getDeploymentConfig(@PathParam("namespace") String namespace,
-                                                @PathParam("deploymentConfig") String deploymentConfig)
-            throws UnauthorizedException, ServerException {
-
-        return toDto(DeploymentConfig.class, clientFactory.getOpenshiftClient().get(ResourceKind.DEPLOYMENT_CONFIG, deploymentConfig, namespace));
+    public void getDeploymentConfig(@PathParam("namespace") String namespace,
+                                    @PathParam("deploymentConfig") String deploymentConfig,
+                                    @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getDeploymentConfig", asList(namespace, deploymentConfig), asyncResponse, () -> {
+            return toDto(DeploymentConfig.class,
+                         clientFactory.getOpenshiftClient().get(ResourceKind.DEPLOYMENT_CONFIG, deploymentConfig, namespace));
+        });
     }
 
     @PUT
     @Path("/{deploymentConfig}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public DeploymentConfig updateDeploymentConfig(@PathParam("namespace") String namespace,
-                                                   @PathParam("deploymentConfig") String deploymentConfigName,
-                                                   DeploymentConfig deploymentConfig)
-            throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!deploymentConfigName.equals(deploymentConfig.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(DeploymentConfig.class, client.update(toOpenshiftResource(client, deploymentConfig)));
+    public void updateDeploymentConfig(@PathParam("namespace") String namespace,
+                                       @PathParam("deploymentConfig") String deploymentConfigName,
+                                       DeploymentConfig deploymentConfig,
+                                       @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "updateDeploymentConfig", asyncResponse, () -> {
+            if (!deploymentConfigName.equals(deploymentConfig.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(DeploymentConfig.class, client.update(toOpenshiftResource(client, deploymentConfig)));
+        });
+    }
+
+    @PATCH
+    @Path("/{deploymentConfig}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchDeploymentConfig(@PathParam("namespace") String namespace,
+                                      @PathParam("deploymentConfig") String name,
+                                      @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                      String patch,
+                                      @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "patchDeploymentConfig", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.DEPLOYMENT_CONFIG, namespace, name, contentType, patch, DeploymentConfig.class);
+        });
     }
 }
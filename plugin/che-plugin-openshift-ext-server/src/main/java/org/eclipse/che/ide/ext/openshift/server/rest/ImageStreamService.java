@@ -19,127 +19,173 @@ import com.openshift.restclient.model.IImageStream;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
+import org.eclipse.che.ide.ext.openshift.server.SharedCatalogCache;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStream;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ImageStreamTag;
 
 import javax.inject.Inject;
-import javax.inject.Named;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
 import java.net.MalformedURLException;
-import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/namespace/{namespace}/imagestream")
 public class ImageStreamService {
-    private final ClientFactory clientFactory;
-    private final String        getTagUrlTemplate;
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final ResourcePatcher          resourcePatcher;
+    private final SharedCatalogCache       catalogCache;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public ImageStreamService(ClientFactory clientFactory) {
-        this.getTagUrlTemplate = clientFactory.getClientInfo().getOpenshiftEndpoint()
-                                 + "/namespaces/{namespace}/imagestreamtags/{imageStream}:{tag}";
+    public ImageStreamService(ClientFactory clientFactory,
+                              ResourceListCache listCache,
+                              ResourcePatcher resourcePatcher,
+                              SharedCatalogCache catalogCache,
+                              OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.resourcePatcher = resourcePatcher;
+        this.catalogCache = catalogCache;
+        this.executor = executor;
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public ImageStream createImageStream(@PathParam("namespace") String namespace,
-                                         ImageStream imageStream) throws BadRequestException, UnauthorizedException, ServerException {
-        if (imageStream.getKind() == null) {
-            imageStream.setKind(ResourceKind.IMAGE_STREAM);
-        }
-        if (!ResourceKind.IMAGE_STREAM.equals(imageStream.getKind())) {
-            throw new BadRequestException(imageStream.getKind() + " cannot be handled as a " + ResourceKind.IMAGE_STREAM);
-        }
+    public void createImageStream(@PathParam("namespace") String namespace,
+                                  ImageStream imageStream,
+                                  @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createImageStream", asyncResponse, () -> {
+            if (imageStream.getKind() == null) {
+                imageStream.setKind(ResourceKind.IMAGE_STREAM);
+            }
+            if (!ResourceKind.IMAGE_STREAM.equals(imageStream.getKind())) {
+                throw new BadRequestException(imageStream.getKind() + " cannot be handled as a " + ResourceKind.IMAGE_STREAM);
+            }
 
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IImageStream openshiftImageStream = toOpenshiftResource(client, imageStream);
-        return toDto(ImageStream.class, client.create(openshiftImageStream, namespace));
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IImageStream openshiftImageStream = toOpenshiftResource(client, imageStream);
+            return toDto(ImageStream.class, client.create(openshiftImageStream, namespace));
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<ImageStream> getImageStreams(@PathParam("namespace") String namespace,
-                                             @QueryParam("application") String application) throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
+    public void getImageStreams(@PathParam("namespace") String namespace,
+                                @QueryParam("application") String application,
+                                @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getImageStreams", asList(namespace, application), asyncResponse, () -> {
+            if (application == null && catalogCache.isShared(namespace)) {
+                return catalogCache.getImageStreams(namespace);
+            }
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
 
-        List<IImageStream> imageStreams = clientFactory.getOpenshiftClient().list(ResourceKind.IMAGE_STREAM, namespace, labels);
-        return imageStreams.stream()
-                           .map(imageStream -> toDto(ImageStream.class, imageStream))
-                           .collect(Collectors.toList());
+            return listCache.list(ResourceKind.IMAGE_STREAM, namespace, labels, ImageStream.class);
+        });
     }
 
     @GET
     @Path("/{imageStream}")
     @Produces(MediaType.APPLICATION_JSON)
-    public ImageStream getImageStream(@PathParam("namespace") String namespace,
-                                      @PathParam("imageStream") String imageStream) throws UnauthorizedException, ServerException {
-
-        return toDto(ImageStream.class, clientFactory.getOpenshiftClient().get(ResourceKind.IMAGE_STREAM, imageStream, namespace));
+    public void getImageStream(@PathParam("namespace") String namespace,
+                               @PathParam("imageStream") String imageStream,
+                               @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getImageStream", asList(namespace, imageStream), asyncResponse, () -> {
+            return toDto(ImageStream.class, clientFactory.getOpenshiftClient().get(ResourceKind.IMAGE_STREAM, imageStream, namespace));
+        });
     }
 
     @PUT
     @Path("/{imageStream}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public ImageStream updateImageStream(@PathParam("namespace") String namespace,
-                                         @PathParam("imageStream") String imageStreamName,
-                                         ImageStream imageStream) throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!imageStreamName.equals(imageStream.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(ImageStream.class, client.update(toOpenshiftResource(client, imageStream)));
+    public void updateImageStream(@PathParam("namespace") String namespace,
+                                  @PathParam("imageStream") String imageStreamName,
+                                  ImageStream imageStream,
+                                  @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "updateImageStream", asyncResponse, () -> {
+            if (!imageStreamName.equals(imageStream.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(ImageStream.class, client.update(toOpenshiftResource(client, imageStream)));
+        });
+    }
+
+    @PATCH
+    @Path("/{imageStream}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchImageStream(@PathParam("namespace") String namespace,
+                                 @PathParam("imageStream") String name,
+                                 @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                 String patch,
+                                 @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "patchImageStream", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.IMAGE_STREAM, namespace, name, contentType, patch, ImageStream.class);
+        });
     }
 
     @GET
     @Path("/{imageStream}/tag/{imageStreamTag}")
     @Produces(MediaType.APPLICATION_JSON)
-    public ImageStreamTag getImageStreamTag(@PathParam("namespace") String namespace,
-                                            @PathParam("imageStream") String imageStream,
-                                            @PathParam("imageStreamTag") String imageStreamTag)
-            throws UnauthorizedException, ServerException {
-        URL url;
-        try {
-            url = UriBuilder.fromPath(getTagUrlTemplate).buildFromMap(ImmutableMap.of("namespace", namespace,
-                                                                                      "imageStream", imageStream,
-                                                                                      "tag", imageStreamTag))
-                            .toURL();
-        } catch (MalformedURLException e) {
-            throw new ServerException("Unable to get image stream tag. " + e.getMessage(), e);
-        }
+    public void getImageStreamTag(@PathParam("namespace") String namespace,
+                                  @PathParam("imageStream") String imageStream,
+                                  @PathParam("imageStreamTag") String imageStreamTag,
+                                  @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getImageStreamTag", asList(namespace, imageStream, imageStreamTag), asyncResponse, () -> {
+            final String tagUrlTemplate = clientFactory.getClientInfo().getOpenshiftEndpoint()
+                                          + "/namespaces/{namespace}/imagestreamtags/{imageStream}:{tag}";
+            URL url;
+            try {
+                url = UriBuilder.fromPath(tagUrlTemplate).buildFromMap(ImmutableMap.of("namespace", namespace,
+                                                                                       "imageStream", imageStream,
+                                                                                       "tag", imageStreamTag))
+                                .toURL();
+            } catch (MalformedURLException e) {
+                throw new ServerException("Unable to get image stream tag. " + e.getMessage(), e);
+            }
 
-        try {
-            final String response = clientFactory.getHttpClient().get(url, IHttpClient.DEFAULT_READ_TIMEOUT);
-            return DtoFactory.getInstance().createDtoFromJson(response, ImageStreamTag.class);
-        } catch (SocketTimeoutException e) {
-            throw new ServerException("Unable to get image stream tag. " + e.getMessage(), e);
-        }
+            try {
+                final String response = clientFactory.getHttpClient().get(url, IHttpClient.DEFAULT_READ_TIMEOUT);
+                return DtoFactory.getInstance().createDtoFromJson(response, ImageStreamTag.class);
+            } catch (IOException e) {
+                throw new ServerException("Unable to get image stream tag. " + e.getMessage(), e);
+            }
+        });
     }
 }
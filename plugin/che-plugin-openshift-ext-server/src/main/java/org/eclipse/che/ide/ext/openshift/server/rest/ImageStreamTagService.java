@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.rest;
+
+import org.eclipse.che.dto.server.JsonArrayImpl;
+import org.eclipse.che.ide.ext.openshift.server.ImageStreamTagResolver;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Resolves many image stream tags of namespace in one request.
+ */
+@Path("/openshift/namespace/{namespace}/imagestreamtag")
+public class ImageStreamTagService {
+    private final ImageStreamTagResolver   tagResolver;
+    private final OpenshiftRequestExecutor executor;
+
+    @Inject
+    public ImageStreamTagService(ImageStreamTagResolver tagResolver, OpenshiftRequestExecutor executor) {
+        this.tagResolver = tagResolver;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns image stream tags with given names, e.g. {@code ?name=nodejs:latest&name=ruby:2.3}.
+     * Tags which don't exist are skipped.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public void getImageStreamTags(@PathParam("namespace") String namespace,
+                                   @QueryParam("name") List<String> names,
+                                   @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getImageStreamTags", asList(namespace, names), asyncResponse, () -> {
+            // It is need to wrap list into JsonArray for correct serialization of List<DTO>
+            return new JsonArrayImpl<>(tagResolver.resolve(namespace, names));
+        });
+    }
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.rest;
+
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftMetrics;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+/**
+ * Exposes metrics of requests to openshift server in Prometheus text format.
+ *
+ * <p>Metrics are served synchronously and don't pass through request executor,
+ * so they are available when requests to openshift server are saturated.
+ */
+@Path("/openshift/metrics")
+public class MetricsService {
+    private final OpenshiftMetrics metrics;
+
+    @Inject
+    public MetricsService(OpenshiftMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @GET
+    @Produces("text/plain; version=0.0.4")
+    public String getMetrics() {
+        return metrics.scrape();
+    }
+}
@@ -11,12 +11,14 @@
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
-import org.eclipse.che.ide.ext.openshift.shared.dto.OpenshiftServerInfo;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
 
 import javax.inject.Inject;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -24,16 +26,20 @@ import javax.ws.rs.core.MediaType;
  */
 @Path("/openshift")
 public class OpenshiftApiInfoService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public OpenshiftApiInfoService(ClientFactory clientFactory) {
+    public OpenshiftApiInfoService(ClientFactory clientFactory, OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.executor = executor;
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public OpenshiftServerInfo getServerInfo() {
-        return clientFactory.getClientInfo();
+    public void getServerInfo(@Suspended AsyncResponse asyncResponse) {
+        executor.execute(null, "getServerInfo", asyncResponse, () -> {
+            return clientFactory.getClientInfo();
+        });
     }
 }
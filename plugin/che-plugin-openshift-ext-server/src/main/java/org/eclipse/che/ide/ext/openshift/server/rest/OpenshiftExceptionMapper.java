@@ -11,11 +11,14 @@
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
 import com.openshift.restclient.OpenShiftException;
+import com.openshift.restclient.authorization.UnauthorizedException;
 import com.openshift.restclient.model.IStatus;
 
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -28,9 +31,20 @@ import javax.ws.rs.ext.Provider;
 @Provider
 @Singleton
 public class OpenshiftExceptionMapper implements ExceptionMapper<OpenShiftException> {
+    private final ClientFactory clientFactory;
+
+    @Inject
+    public OpenshiftExceptionMapper(ClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
     @Override
     public Response toResponse(OpenShiftException exception) {
         final IStatus status = exception.getStatus();
+        if (exception instanceof UnauthorizedException || (status != null && status.getCode() == 401)) {
+            // cached access token was rejected by openshift server, so it should be fetched again on next request
+            clientFactory.invalidateToken();
+        }
         String message;
         if (status == null) {
             message = exception.getLocalizedMessage();
@@ -17,9 +17,10 @@ import com.openshift.restclient.model.project.IProjectRequest;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.ide.ext.openshift.server.ApplicationResolver;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ObjectMeta;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Project;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ProjectRequest;
@@ -28,84 +29,129 @@ import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/project")
 public class ProjectService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final ResourcePatcher          resourcePatcher;
+    private final ApplicationResolver      applicationResolver;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public ProjectService(ClientFactory clientFactory) {
+    public ProjectService(ClientFactory clientFactory, ResourcePatcher resourcePatcher, ApplicationResolver applicationResolver,
+                          OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.resourcePatcher = resourcePatcher;
+        this.applicationResolver = applicationResolver;
+        this.executor = executor;
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Project createProject(ProjectRequest project) throws BadRequestException, UnauthorizedException, ServerException {
-        if (project.getKind() == null) {
-            project.setKind(ResourceKind.PROJECT_REQUEST);
-        }
-        if (!ResourceKind.PROJECT_REQUEST.equals(project.getKind())) {
-            throw new BadRequestException(project.getKind() + " cannot be handled as a " + ResourceKind.PROJECT_REQUEST);
-        }
+    public void createProject(ProjectRequest project,
+                              @Suspended AsyncResponse asyncResponse) {
+        executor.execute(null, "createProject", asyncResponse, () -> {
+            if (project.getKind() == null) {
+                project.setKind(ResourceKind.PROJECT_REQUEST);
+            }
+            if (!ResourceKind.PROJECT_REQUEST.equals(project.getKind())) {
+                throw new BadRequestException(project.getKind() + " cannot be handled as a " + ResourceKind.PROJECT_REQUEST);
+            }
 
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IProjectRequest openshiftProject = toOpenshiftResource(client, project);
-        return toDto(Project.class, client.create(openshiftProject));
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IProjectRequest openshiftProject = toOpenshiftResource(client, project);
+            final Project created = toDto(Project.class, client.create(openshiftProject));
+            applicationResolver.invalidateApplications();
+            return created;
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Project> getProjects() throws UnauthorizedException, ServerException {
-        List<IProject> projects = clientFactory.getOpenshiftClient().list(ResourceKind.PROJECT);
-        return projects.stream()
-                       .map(imageStream -> toDto(Project.class, imageStream))
-                       .collect(Collectors.toList());
+    public void getProjects(@Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(null, "getProjects", emptyList(), asyncResponse, () -> {
+            List<IProject> projects = clientFactory.getOpenshiftClient().list(ResourceKind.PROJECT);
+            return projects.stream()
+                           .map(imageStream -> toDto(Project.class, imageStream))
+                           .collect(Collectors.toList());
+        });
     }
 
     @GET
     @Path("/{project}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Project getProject(@PathParam("project") String project) throws UnauthorizedException, ServerException {
-
-        return toDto(Project.class, clientFactory.getOpenshiftClient().get(ResourceKind.PROJECT, project, project));
+    public void getProject(@PathParam("project") String project,
+                           @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(project, "getProject", asList(project), asyncResponse, () -> {
+            return toDto(Project.class, clientFactory.getOpenshiftClient().get(ResourceKind.PROJECT, project, project));
+        });
     }
 
     @PUT
     @Path("/{project}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Project updateProject(@PathParam("project") String projectName,
-                                 Project project) throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!projectName.equals(project.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(Project.class, client.update(toOpenshiftResource(client, project)));
+    public void updateProject(@PathParam("project") String projectName,
+                              Project project,
+                              @Suspended AsyncResponse asyncResponse) {
+        executor.execute(projectName, "updateProject", asyncResponse, () -> {
+            if (!projectName.equals(project.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(Project.class, client.update(toOpenshiftResource(client, project)));
+        });
+    }
+
+    @PATCH
+    @Path("/{project}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchProject(@PathParam("project") String name,
+                             @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                             String patch,
+                             @Suspended AsyncResponse asyncResponse) {
+        executor.execute(name, "patchProject", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.PROJECT, null, name, contentType, patch, Project.class);
+        });
     }
 
     @DELETE
     @Path("/{project}")
-    public void removeProject(@PathParam("project") String projectName) throws UnauthorizedException, ServerException {
-        final IClient client = clientFactory.getOpenshiftClient();
-        client.delete(toOpenshiftResource(client, newDto(Project.class).withKind(ResourceKind.PROJECT)
-                                                                       .withMetadata(newDto(ObjectMeta.class)
-                                                                                             .withName(projectName))));
+    public void removeProject(@PathParam("project") String projectName,
+                              @Suspended AsyncResponse asyncResponse) {
+        executor.execute(projectName, "removeProject", asyncResponse, () -> {
+            final IClient client = clientFactory.getOpenshiftClient();
+            client.delete(toOpenshiftResource(client, newDto(Project.class).withKind(ResourceKind.PROJECT)
+                                                                           .withMetadata(newDto(ObjectMeta.class)
+                                                                                                 .withName(projectName))));
+            applicationResolver.invalidateApplications();
+            return null;
+        });
     }
 }
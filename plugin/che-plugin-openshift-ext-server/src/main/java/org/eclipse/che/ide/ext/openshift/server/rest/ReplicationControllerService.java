@@ -11,82 +11,160 @@
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
 import com.openshift.restclient.IClient;
+import com.openshift.restclient.OpenShiftException;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IReplicationController;
+import com.openshift.restclient.model.IStatus;
 
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
 import org.eclipse.che.ide.ext.openshift.shared.dto.ReplicationController;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import java.net.HttpURLConnection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/namespace/{namespace}/replicationcontroller")
 public class ReplicationControllerService {
-    private final ClientFactory clientFactory;
+    /** Number of attempts to scale replication controller which is concurrently modified by someone else */
+    private static final int SCALE_ATTEMPTS = 5;
+
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final ResourcePatcher          resourcePatcher;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public ReplicationControllerService(ClientFactory clientFactory) {
+    public ReplicationControllerService(ClientFactory clientFactory, ResourceListCache listCache, ResourcePatcher resourcePatcher,
+                                        OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.resourcePatcher = resourcePatcher;
+        this.executor = executor;
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<ReplicationController> getReplicationControllers(@PathParam("namespace") String namespace,
-                                                                 @QueryParam("application") String application)
-            throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
-        List<IReplicationController> controllers = clientFactory.getOpenshiftClient().list(ResourceKind.REPLICATION_CONTROLLER,
-                                                                                           namespace, labels);
-        return controllers.stream()
-                          .map(controller -> toDto(ReplicationController.class, controller))
-                          .collect(Collectors.toList());
+    public void getReplicationControllers(@PathParam("namespace") String namespace,
+                                          @QueryParam("application") String application,
+                                          @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getReplicationControllers", asList(namespace, application), asyncResponse, () -> {
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
+            return listCache.list(ResourceKind.REPLICATION_CONTROLLER, namespace, labels, ReplicationController.class);
+        });
     }
 
     @GET
     @Path("/{replicationController}")
     @Produces(MediaType.APPLICATION_JSON)
-    public ReplicationController getReplicationController(@PathParam("namespace") String namespace,
-                                                          @PathParam("replicationController") String controller)
-            throws UnauthorizedException, ServerException {
-        return toDto(ReplicationController.class,
-                     clientFactory.getOpenshiftClient().get(ResourceKind.REPLICATION_CONTROLLER, controller, namespace));
+    public void getReplicationController(@PathParam("namespace") String namespace,
+                                         @PathParam("replicationController") String controller,
+                                         @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getReplicationController", asList(namespace, controller), asyncResponse, () -> {
+            return toDto(ReplicationController.class,
+                         clientFactory.getOpenshiftClient().get(ResourceKind.REPLICATION_CONTROLLER, controller, namespace));
+        });
     }
 
     @PUT
     @Path("/{replicationController}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public ReplicationController updateReplicationController(@PathParam("namespace") String namespace,
-                                                             @PathParam("replicationController") String controller,
-                                                             ReplicationController replicationController)
-            throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!controller.equals(replicationController.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(ReplicationController.class, client.update(toOpenshiftResource(client, replicationController)));
+    public void updateReplicationController(@PathParam("namespace") String namespace,
+                                            @PathParam("replicationController") String controller,
+                                            ReplicationController replicationController,
+                                            @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "updateReplicationController", asyncResponse, () -> {
+            if (!controller.equals(replicationController.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(ReplicationController.class, client.update(toOpenshiftResource(client, replicationController)));
+        });
+    }
+
+    /**
+     * Sets desired number of replicas of replication controller.
+     *
+     * <p>Only replicas are changed on the latest version of replication controller,
+     * if it is modified concurrently by someone else then scaling is retried.
+     */
+    @PUT
+    @Path("/{replicationController}/scale")
+    @Produces(MediaType.APPLICATION_JSON)
+    public void scaleReplicationController(@PathParam("namespace") String namespace,
+                                           @PathParam("replicationController") String controller,
+                                           @QueryParam("replicas") Integer replicas,
+                                           @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "scaleReplicationController", asyncResponse, () -> {
+            if (replicas == null || replicas < 0) {
+                throw new BadRequestException("Number of replicas must be non-negative");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            for (int attempt = 1; ; attempt++) {
+                final IReplicationController current = client.get(ResourceKind.REPLICATION_CONTROLLER, controller, namespace);
+                if (current.getDesiredReplicaCount() == replicas) {
+                    return toDto(ReplicationController.class, current);
+                }
+                current.setDesiredReplicaCount(replicas);
+                try {
+                    return toDto(ReplicationController.class, client.update(current));
+                } catch (OpenShiftException e) {
+                    final IStatus status = e.getStatus();
+                    if (status == null || status.getCode() != HttpURLConnection.HTTP_CONFLICT) {
+                        throw e;
+                    }
+                    if (attempt == SCALE_ATTEMPTS) {
+                        throw new ConflictException("Replication controller " + controller + " is modified concurrently, try again later");
+                    }
+                }
+            }
+        });
+    }
+
+    @PATCH
+    @Path("/{replicationController}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchReplicationController(@PathParam("namespace") String namespace,
+                                           @PathParam("replicationController") String name,
+                                           @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           String patch,
+                                           @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "patchReplicationController", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.REPLICATION_CONTROLLER, namespace, name, contentType, patch,
+                                         ReplicationController.class);
+        });
     }
 }
@@ -10,99 +10,134 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
-
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.route.IRoute;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Route;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/namespace/{namespace}/route")
 public class RouteService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final ResourcePatcher          resourcePatcher;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public RouteService(ClientFactory clientFactory) {
+    public RouteService(ClientFactory clientFactory, ResourceListCache listCache, ResourcePatcher resourcePatcher,
+                        OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.resourcePatcher = resourcePatcher;
+        this.executor = executor;
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Route createRoute(@PathParam("namespace") String namespace,
-                             Route route) throws BadRequestException, UnauthorizedException, ServerException {
-        if (route.getKind() == null) {
-            route.setKind(ResourceKind.ROUTE);
-        }
-        if (!ResourceKind.ROUTE.equals(route.getKind())) {
-            throw new BadRequestException(route.getKind() + " cannot be handled as a " + ResourceKind.ROUTE);
-        }
+    public void createRoute(@PathParam("namespace") String namespace,
+                            Route route,
+                            @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createRoute", asyncResponse, () -> {
+            if (route.getKind() == null) {
+                route.setKind(ResourceKind.ROUTE);
+            }
+            if (!ResourceKind.ROUTE.equals(route.getKind())) {
+                throw new BadRequestException(route.getKind() + " cannot be handled as a " + ResourceKind.ROUTE);
+            }
 
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IRoute openshiftRoute = toOpenshiftResource(client, route);
-        return toDto(Route.class, client.create(openshiftRoute, namespace));
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IRoute openshiftRoute = toOpenshiftResource(client, route);
+            return toDto(Route.class, client.create(openshiftRoute, namespace));
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Route> getRoutes(@PathParam("namespace") String namespace,
-                                 @QueryParam("application") String application) throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
-        List<IRoute> routes = clientFactory.getOpenshiftClient().list(ResourceKind.ROUTE, namespace, labels);
-        return routes.stream()
-                     .map(imageStream -> toDto(Route.class, imageStream))
-                     .collect(Collectors.toList());
+    public void getRoutes(@PathParam("namespace") String namespace,
+                          @QueryParam("application") String application,
+                          @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getRoutes", asList(namespace, application), asyncResponse, () -> {
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
+            return listCache.list(ResourceKind.ROUTE, namespace, labels, Route.class);
+        });
     }
 
     @GET
     @Path("/{route}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Route getRoute(@PathParam("namespace") String namespace,
-                          @PathParam("route") String route) throws UnauthorizedException, ServerException {
-
-        return toDto(Route.class, clientFactory.getOpenshiftClient().get(ResourceKind.ROUTE, route, namespace));
+    public void getRoute(@PathParam("namespace") String namespace,
+                         @PathParam("route") String route,
+                         @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getRoute", asList(namespace, route), asyncResponse, () -> {
+            return toDto(Route.class, clientFactory.getOpenshiftClient().get(ResourceKind.ROUTE, route, namespace));
+        });
     }
 
     @PUT
     @Path("/{route}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Route updateRoute(@PathParam("namespace") String namespace,
-                             @PathParam("route") String routeName,
-                             Route route) throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!routeName.equals(route.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(Route.class, client.update(toOpenshiftResource(client, route)));
+    public void updateRoute(@PathParam("namespace") String namespace,
+                            @PathParam("route") String routeName,
+                            Route route,
+                            @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "updateRoute", asyncResponse, () -> {
+            if (!routeName.equals(route.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(Route.class, client.update(toOpenshiftResource(client, route)));
+        });
+    }
+
+    @PATCH
+    @Path("/{route}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchRoute(@PathParam("namespace") String namespace,
+                           @PathParam("route") String name,
+                           @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                           String patch,
+                           @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "patchRoute", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.ROUTE, namespace, name, contentType, patch, Route.class);
+        });
     }
 }
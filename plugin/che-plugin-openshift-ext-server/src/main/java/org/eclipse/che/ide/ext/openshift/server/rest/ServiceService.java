@@ -10,99 +10,134 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.openshift.server.rest;
 
-
 import com.openshift.restclient.IClient;
 import com.openshift.restclient.ResourceKind;
 import com.openshift.restclient.model.IService;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.ide.ext.openshift.server.ClientFactory;
+import org.eclipse.che.ide.ext.openshift.server.OpenshiftRequestExecutor;
+import org.eclipse.che.ide.ext.openshift.server.ResourceListCache;
+import org.eclipse.che.ide.ext.openshift.server.ResourcePatcher;
 import org.eclipse.che.ide.ext.openshift.shared.dto.Service;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toDto;
 import static org.eclipse.che.ide.ext.openshift.server.DtoConverter.toOpenshiftResource;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.JSON_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.MERGE_PATCH_JSON;
+import static org.eclipse.che.ide.ext.openshift.server.ResourcePatcher.STRATEGIC_MERGE_PATCH_JSON;
 
 /**
  * @author Sergii Leschenko
  */
 @Path("/openshift/namespace/{namespace}/service")
 public class ServiceService {
-    private final ClientFactory clientFactory;
+    private final ClientFactory            clientFactory;
+    private final ResourceListCache        listCache;
+    private final ResourcePatcher          resourcePatcher;
+    private final OpenshiftRequestExecutor executor;
 
     @Inject
-    public ServiceService(ClientFactory clientFactory) {
+    public ServiceService(ClientFactory clientFactory, ResourceListCache listCache, ResourcePatcher resourcePatcher,
+                          OpenshiftRequestExecutor executor) {
         this.clientFactory = clientFactory;
+        this.listCache = listCache;
+        this.resourcePatcher = resourcePatcher;
+        this.executor = executor;
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Service createService(@PathParam("namespace") String namespace,
-                                 Service service) throws BadRequestException, UnauthorizedException, ServerException {
-        if (service.getKind() == null) {
-            service.setKind(ResourceKind.SERVICE);
-        }
-        if (!ResourceKind.SERVICE.equals(service.getKind())) {
-            throw new BadRequestException(service.getKind() + " cannot be handled as a " + ResourceKind.SERVICE);
-        }
+    public void createService(@PathParam("namespace") String namespace,
+                              Service service,
+                              @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "createService", asyncResponse, () -> {
+            if (service.getKind() == null) {
+                service.setKind(ResourceKind.SERVICE);
+            }
+            if (!ResourceKind.SERVICE.equals(service.getKind())) {
+                throw new BadRequestException(service.getKind() + " cannot be handled as a " + ResourceKind.SERVICE);
+            }
 
-        final IClient client = clientFactory.getOpenshiftClient();
-        final IService openshiftService = toOpenshiftResource(client, service);
-        return toDto(Service.class, client.create(openshiftService, namespace));
+            final IClient client = clientFactory.getOpenshiftClient();
+            final IService openshiftService = toOpenshiftResource(client, service);
+            return toDto(Service.class, client.create(openshiftService, namespace));
+        });
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<Service> getServices(@PathParam("namespace") String namespace,
-                                     @QueryParam("application") String application) throws UnauthorizedException, ServerException {
-        Map<String, String> labels = new HashMap<>();
-        if (application != null) {
-            labels.put("application", application);
-        }
-        List<IService> services = clientFactory.getOpenshiftClient().list(ResourceKind.SERVICE, namespace, labels);
-        return services.stream()
-                       .map(imageStream -> toDto(Service.class, imageStream))
-                       .collect(Collectors.toList());
+    public void getServices(@PathParam("namespace") String namespace,
+                            @QueryParam("application") String application,
+                            @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getServices", asList(namespace, application), asyncResponse, () -> {
+            Map<String, String> labels = new HashMap<>();
+            if (application != null) {
+                labels.put("application", application);
+            }
+            return listCache.list(ResourceKind.SERVICE, namespace, labels, Service.class);
+        });
     }
 
     @GET
     @Path("/{service}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Service getService(@PathParam("namespace") String namespace,
-                              @PathParam("service") String service) throws UnauthorizedException, ServerException {
-
-        return toDto(Service.class, clientFactory.getOpenshiftClient().get(ResourceKind.SERVICE, service, namespace));
+    public void getService(@PathParam("namespace") String namespace,
+                           @PathParam("service") String service,
+                           @Suspended AsyncResponse asyncResponse) {
+        executor.executeShared(namespace, "getService", asList(namespace, service), asyncResponse, () -> {
+            return toDto(Service.class, clientFactory.getOpenshiftClient().get(ResourceKind.SERVICE, service, namespace));
+        });
     }
 
     @PUT
     @Path("/{service}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Service updateService(@PathParam("namespace") String namespace,
-                                 @PathParam("service") String serviceName,
-                                 Service service) throws ForbiddenException, UnauthorizedException, ServerException {
-        if (!serviceName.equals(service.getMetadata().getName())) {
-            throw new ForbiddenException("Name of resources can read only access mode");
-        }
-        final IClient client = clientFactory.getOpenshiftClient();
-        return toDto(Service.class, client.update(toOpenshiftResource(client, service)));
+    public void updateService(@PathParam("namespace") String namespace,
+                              @PathParam("service") String serviceName,
+                              Service service,
+                              @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "updateService", asyncResponse, () -> {
+            if (!serviceName.equals(service.getMetadata().getName())) {
+                throw new ForbiddenException("Name of resources can read only access mode");
+            }
+            final IClient client = clientFactory.getOpenshiftClient();
+            return toDto(Service.class, client.update(toOpenshiftResource(client, service)));
+        });
+    }
+
+    @PATCH
+    @Path("/{service}")
+    @Consumes({MERGE_PATCH_JSON, STRATEGIC_MERGE_PATCH_JSON, JSON_PATCH_JSON})
+    @Produces(MediaType.APPLICATION_JSON)
+    public void patchService(@PathParam("namespace") String namespace,
+                             @PathParam("service") String name,
+                             @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+                             String patch,
+                             @Suspended AsyncResponse asyncResponse) {
+        executor.execute(namespace, "patchService", asyncResponse, () -> {
+            return resourcePatcher.patch(ResourceKind.SERVICE, namespace, name, contentType, patch, Service.class);
+        });
     }
 }
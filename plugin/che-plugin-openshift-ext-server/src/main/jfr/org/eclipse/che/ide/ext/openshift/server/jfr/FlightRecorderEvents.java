@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.jfr;
+
+/**
+ * Creates and begins flight recorder events, loaded only when {@code jdk.jfr} API is available.
+ */
+final class FlightRecorderEvents implements EventFactory {
+    FlightRecorderEvents() {
+    }
+
+    @Override
+    public RecordedCall upstreamCall() {
+        return begin(new UpstreamCallEvent());
+    }
+
+    @Override
+    public RecordedCall conversion() {
+        return begin(new DtoConversionEvent());
+    }
+
+    @Override
+    public RecordedCall clientAcquisition() {
+        return begin(new ClientAcquisitionEvent());
+    }
+
+    private static RecordedCall begin(OpenshiftEvent event) {
+        if (!event.isEnabled()) {
+            return RecordedCall.NOOP;
+        }
+        event.begin();
+        return event;
+    }
+}
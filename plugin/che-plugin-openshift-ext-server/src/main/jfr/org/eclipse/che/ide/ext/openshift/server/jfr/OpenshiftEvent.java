@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Common fields of flight recorder events of openshift plugin, duration of event is duration of the call.
+ */
+@Category({"Eclipse Che", "Openshift"})
+abstract class OpenshiftEvent extends Event implements RecordedCall {
+    @Label("Kind")
+    @Description("Kind of openshift resource or name of resource in path of request")
+    String kind;
+
+    @Label("Namespace")
+    String namespace;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Payload Size")
+    @Description("Size of payload, -1 if it is unknown")
+    @DataAmount
+    long payloadBytes;
+
+    @Override
+    public void complete(String kind, String namespace, String operation, long payloadBytes) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.namespace = namespace;
+            this.operation = operation;
+            this.payloadBytes = payloadBytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Parameter;
+import org.eclipse.che.ide.ext.openshift.shared.dto.Template;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that {@link TemplateProcessor} produces the same objects as {@code oc process} does.
+ */
+public class TemplateProcessorTest {
+    private static final String SYMBOLS = "~!@#$%^&*()-_+={}[]\\|<,>.?/\"';:`";
+
+    private TemplateProcessor processor;
+
+    @BeforeMethod
+    public void setUp() {
+        processor = new TemplateProcessor(null, false);
+    }
+
+    @Test
+    public void shouldProcessTemplateAsOpenshiftServer() throws Exception {
+        final Template template = readTemplate("templates/nodejs-example.json");
+
+        final Template processed = processor.process("test", template);
+
+        // output of 'oc process -f nodejs-example.json -o json'
+        final JsonObject expected = readJson("templates/nodejs-example-processed.json").getAsJsonObject();
+        assertEquals(toJsonArray(processed.getObjects()), expected.getAsJsonArray("items"));
+    }
+
+    @Test
+    public void shouldNotChangeGivenTemplate() throws Exception {
+        final Template template = readTemplate("templates/nodejs-example.json");
+        final String json = DtoFactory.getInstance().toJson(template);
+
+        processor.process("test", template);
+
+        assertEquals(DtoFactory.getInstance().toJson(template), json);
+    }
+
+    @Test
+    public void shouldSubstituteStringParameters() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\",\"metadata\":{\"name\":\"${NAME}-${SUFFIX}\"},"
+                                                  + "\"spec\":{\"ports\":[{\"name\":\"${NAME}\",\"port\":\"${PORT}\"}]}}"),
+                                           parameter("NAME", "web"),
+                                           parameter("SUFFIX", "1"),
+                                           parameter("PORT", "8080"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object, object("{\"kind\":\"Service\",\"metadata\":{\"name\":\"web-1\"},"
+                                    + "\"spec\":{\"ports\":[{\"name\":\"web\",\"port\":\"8080\"}]}}"));
+    }
+
+    @Test
+    public void shouldLeaveReferencesToUnknownParameters() throws Exception {
+        final Template template = template(object("{\"kind\":\"Route\",\"spec\":{\"host\":\"${NAME}.${DOMAIN}\"}}"),
+                                           parameter("NAME", "web"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("spec").get("host").getAsString(), "web.${DOMAIN}");
+    }
+
+    @DataProvider(name = "nonStringValues")
+    public Object[][] nonStringValues() {
+        return new Object[][] {
+                {"3", "3"},
+                {"true", "true"},
+                {"{\"a\":[1,2]}", "{\"a\":[1,2]}"},
+                {"null", "null"},
+                // value which isn't valid json is substituted as string
+                {"web", "\"web\""},
+                {"1 2", "\"1 2\""}
+        };
+    }
+
+    @Test(dataProvider = "nonStringValues")
+    public void shouldSubstituteNonStringParameterWithJsonValue(String value, String expectedJson) throws Exception {
+        final Template template = template(object("{\"kind\":\"DeploymentConfig\",\"spec\":{\"replicas\":\"${{VALUE}}\"}}"),
+                                           parameter("VALUE", value));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("spec").get("replicas"), new JsonParser().parse(expectedJson));
+    }
+
+    @Test
+    public void shouldNotSubstituteNonStringParameterWhichIsPartOfString() throws Exception {
+        final Template template = template(object("{\"kind\":\"DeploymentConfig\",\"spec\":{\"replicas\":\"x${{VALUE}}\"}}"),
+                                           parameter("VALUE", "3"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("spec").get("replicas").getAsString(), "x${{VALUE}}");
+    }
+
+    @DataProvider(name = "generators")
+    public Object[][] generators() {
+        return new Object[][] {
+                {"[a-z]{8}", "[a-z]{8}"},
+                {"[A-Z0-9]{12}", "[A-Z0-9]{12}"},
+                {"admin[a-zA-Z]{4}", "admin[a-zA-Z]{4}"},
+                {"[\\w]{16}", "[a-zA-Z0-9_]{16}"},
+                {"[\\d]{6}", "[0-9]{6}"},
+                {"[\\a]{6}", "[a-zA-Z]{6}"},
+                {"[a-c\\d]{10}", "[a-c0-9]{10}"},
+                {"x[0-1]{3}-[ab]{2}y", "x[0-1]{3}-[ab]{2}y"},
+                {"[a-z]{255}", "[a-z]{255}"}
+        };
+    }
+
+    @Test(dataProvider = "generators")
+    public void shouldGenerateValueFromExpression(String expression, String pattern) throws Exception {
+        final Template template = template(object("{\"kind\":\"Secret\",\"stringData\":{\"password\":\"${PASSWORD}\"}}"),
+                                           generated("PASSWORD", expression));
+
+        final Template processed = processor.process("test", template);
+
+        final String value = processed.getParameters().get(0).getValue();
+        assertTrue(value.matches(pattern), value + " doesn't match " + pattern);
+        assertEquals(((JsonObject)processed.getObjects().get(0)).getAsJsonObject("stringData").get("password").getAsString(), value);
+    }
+
+    @Test
+    public void shouldGenerateSymbols() throws Exception {
+        final Template template = template(object("{\"kind\":\"Secret\"}"), generated("PASSWORD", "[\\A]{64}"));
+
+        final String value = processor.process("test", template).getParameters().get(0).getValue();
+
+        assertEquals(value.length(), 64);
+        for (char c : value.toCharArray()) {
+            assertTrue(SYMBOLS.indexOf(c) != -1, "Unexpected character " + c);
+        }
+    }
+
+    @Test
+    public void shouldNotGenerateValueWhichIsSpecified() throws Exception {
+        final Template template = template(object("{\"kind\":\"Secret\"}"), generated("PASSWORD", "[a-z]{8}").withValue("secret"));
+
+        final Template processed = processor.process("test", template);
+
+        assertEquals(processed.getParameters().get(0).getValue(), "secret");
+    }
+
+    @DataProvider(name = "invalidGenerators")
+    public Object[][] invalidGenerators() {
+        return new Object[][] {
+                {"expression", null},
+                {"expression", "[a-z]{0}"},
+                {"expression", "[a-z]{256}"},
+                {"expression", "[\\x]{4}"},
+                {"expression", "[z-a]{4}"},
+                {"sequence", "[a-z]{4}"}
+        };
+    }
+
+    @Test(dataProvider = "invalidGenerators", expectedExceptions = BadRequestException.class)
+    public void shouldRejectInvalidGenerator(String generate, String expression) throws Exception {
+        final Template template = template(object("{\"kind\":\"Secret\"}"),
+                                           newDto(Parameter.class).withName("PASSWORD").withGenerate(generate).withFrom(expression));
+
+        processor.process("test", template);
+    }
+
+    @Test(expectedExceptions = BadRequestException.class, expectedExceptionsMessageRegExp = ".*NAME is required.*")
+    public void shouldRejectRequiredParameterWithoutValue() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\"}"), newDto(Parameter.class).withName("NAME").withRequired(true));
+
+        processor.process("test", template);
+    }
+
+    @Test(expectedExceptions = BadRequestException.class, expectedExceptionsMessageRegExp = ".*NAME is required.*")
+    public void shouldRejectRequiredParameterWithEmptyValue() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\"}"), parameter("NAME", "").withRequired(true));
+
+        processor.process("test", template);
+    }
+
+    @Test
+    public void shouldAcceptRequiredParameterWithGeneratedValue() throws Exception {
+        final Template template = template(object("{\"kind\":\"Secret\"}"), generated("PASSWORD", "[a-z]{8}").withRequired(true));
+
+        final Template processed = processor.process("test", template);
+
+        assertTrue(processed.getParameters().get(0).getValue().matches("[a-z]{8}"));
+    }
+
+    @Test
+    public void shouldSubstituteOptionalParameterWithoutValueWithEmptyString() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\",\"metadata\":{\"name\":\"web${SUFFIX}\"}}"),
+                                           newDto(Parameter.class).withName("SUFFIX"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("metadata").get("name").getAsString(), "web");
+    }
+
+    @Test
+    public void shouldAddTemplateLabelsToObjectsWithoutMetadata() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\"}"), parameter("NAME", "web"))
+                .withLabels(Collections.singletonMap("app", "${NAME}"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object, object("{\"kind\":\"Service\",\"metadata\":{\"labels\":{\"app\":\"web\"}}}"));
+    }
+
+    @Test
+    public void shouldKeepObjectLabelsWithTheSameValue() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\",\"metadata\":{\"labels\":{\"app\":\"web\",\"tier\":\"front\"}}}"))
+                .withLabels(Collections.singletonMap("app", "web"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("metadata").getAsJsonObject("labels"), object("{\"app\":\"web\",\"tier\":\"front\"}"));
+    }
+
+    @Test(expectedExceptions = BadRequestException.class, expectedExceptionsMessageRegExp = ".*Service web.*label app already exists.*")
+    public void shouldRejectObjectLabelWithDifferentValue() throws Exception {
+        final Template template = template(object("{\"kind\":\"Service\",\"metadata\":{\"name\":\"web\",\"labels\":{\"app\":\"other\"}}}"))
+                .withLabels(Collections.singletonMap("app", "web"));
+
+        processor.process("test", template);
+    }
+
+    @DataProvider(name = "podTemplateKinds")
+    public Object[][] podTemplateKinds() {
+        return new Object[][] {{"DeploymentConfig"}, {"ReplicationController"}};
+    }
+
+    @Test(dataProvider = "podTemplateKinds")
+    public void shouldAddTemplateLabelsToPodTemplateReplacingItsValues(String kind) throws Exception {
+        final Template template = template(object("{\"kind\":\"" + kind + "\",\"spec\":{\"template\":{\"metadata\":"
+                                                  + "{\"labels\":{\"app\":\"other\",\"name\":\"web\"}}}}}"))
+                .withLabels(Collections.singletonMap("app", "web"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("spec").getAsJsonObject("template").getAsJsonObject("metadata").getAsJsonObject("labels"),
+                     object("{\"app\":\"web\",\"name\":\"web\"}"));
+    }
+
+    @Test
+    public void shouldAddTemplateLabelsToPodTemplateWithoutLabels() throws Exception {
+        final Template template = template(object("{\"kind\":\"DeploymentConfig\",\"spec\":{\"template\":{\"spec\":{}}}}"))
+                .withLabels(Collections.singletonMap("app", "web"));
+
+        final JsonObject object = processOne(template);
+
+        assertEquals(object.getAsJsonObject("spec").getAsJsonObject("template"),
+                     object("{\"metadata\":{\"labels\":{\"app\":\"web\"}},\"spec\":{}}"));
+    }
+
+    @Test
+    public void shouldNotAddPodTemplateToObjectsWithoutIt() throws Exception {
+        final Template template = template(object("{\"kind\":\"DeploymentConfig\",\"spec\":{\"replicas\":1}}"),
+                                           object("{\"kind\":\"BuildConfig\",\"spec\":{}}"))
+                .withLabels(Collections.singletonMap("app", "web"));
+
+        final Template processed = processor.process("test", template);
+
+        assertEquals(toJsonArray(processed.getObjects()),
+                     new JsonParser().parse("[{\"kind\":\"DeploymentConfig\",\"metadata\":{\"labels\":{\"app\":\"web\"}},\"spec\":{\"replicas\":1}},"
+                                            + "{\"kind\":\"BuildConfig\",\"metadata\":{\"labels\":{\"app\":\"web\"}},\"spec\":{}}]"));
+    }
+
+    private JsonObject processOne(Template template) throws Exception {
+        final List<Object> objects = processor.process("test", template).getObjects();
+        assertEquals(objects.size(), 1);
+        return (JsonObject)objects.get(0);
+    }
+
+    private static Template template(JsonObject object, Parameter... parameters) {
+        return newDto(Template.class).withKind("Template")
+                                     .withObjects(new ArrayList<>(Collections.singletonList(object)))
+                                     .withParameters(new ArrayList<>(asList(parameters)));
+    }
+
+    private static Template template(JsonObject first, JsonObject second) {
+        return newDto(Template.class).withKind("Template")
+                                     .withObjects(new ArrayList<>(asList(first, second)))
+                                     .withParameters(new ArrayList<>());
+    }
+
+    private static Parameter parameter(String name, String value) {
+        return newDto(Parameter.class).withName(name).withValue(value);
+    }
+
+    private static Parameter generated(String name, String expression) {
+        return newDto(Parameter.class).withName(name).withGenerate("expression").withFrom(expression);
+    }
+
+    private static JsonObject object(String json) {
+        return new JsonParser().parse(json).getAsJsonObject();
+    }
+
+    private static JsonArray toJsonArray(List<Object> objects) {
+        final JsonArray array = new JsonArray();
+        for (Object object : objects) {
+            array.add(object instanceof JsonElement ? (JsonElement)object : DtoFactory.getInstance().toJsonElement(object));
+        }
+        return array;
+    }
+
+    private static Template readTemplate(String resource) throws Exception {
+        try (Reader reader = open(resource)) {
+            return DtoFactory.getInstance().createDtoFromJson(reader, Template.class);
+        }
+    }
+
+    private static JsonElement readJson(String resource) throws Exception {
+        try (Reader reader = open(resource)) {
+            return new JsonParser().parse(reader);
+        }
+    }
+
+    private static Reader open(String resource) {
+        return new InputStreamReader(TemplateProcessorTest.class.getClassLoader().getResourceAsStream(resource), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Result of creation of one object of {@link ResourceBatch}.
+ */
+@DTO
+public interface BatchItemStatus {
+    /** Object was created */
+    String CREATED = "Created";
+    /** Object with the same name already exists, so repeated batch doesn't fail, but it may belong to another application */
+    String EXISTS  = "Exists";
+    /** Object was not created, see {@link #getMessage()} */
+    String FAILED  = "Failed";
+
+    String getKind();
+
+    void setKind(String kind);
+
+    BatchItemStatus withKind(String kind);
+
+    String getName();
+
+    void setName(String name);
+
+    BatchItemStatus withName(String name);
+
+    /** Returns one of {@link #CREATED}, {@link #EXISTS} or {@link #FAILED} */
+    String getStatus();
+
+    void setStatus(String status);
+
+    BatchItemStatus withStatus(String status);
+
+    String getMessage();
+
+    void setMessage(String message);
+
+    BatchItemStatus withMessage(String message);
+}
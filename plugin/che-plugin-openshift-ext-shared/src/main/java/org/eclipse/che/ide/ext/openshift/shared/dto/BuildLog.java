@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Range of lines of build log.
+ *
+ * <p>Lines are numbered from zero, {@code from} is number of the first line of range.
+ * The same object is sent to websocket channel of log when new lines are appended to it.
+ */
+@DTO
+public interface BuildLog {
+    long getFrom();
+
+    void setFrom(long from);
+
+    BuildLog withFrom(long from);
+
+    List<String> getLines();
+
+    void setLines(List<String> lines);
+
+    BuildLog withLines(List<String> lines);
+
+    /** Returns {@code true} when build is finished and no more lines will be appended to log */
+    boolean isComplete();
+
+    void setComplete(boolean complete);
+
+    BuildLog withComplete(boolean complete);
+
+    /** Returns websocket channel to which new lines are sent while log is not complete */
+    String getChannel();
+
+    void setChannel(String channel);
+
+    BuildLog withChannel(String channel);
+
+    /** Returns error which broke reading of log, the log may be requested again to start reading from scratch */
+    String getError();
+
+    void setError(String error);
+
+    BuildLog withError(String error);
+}
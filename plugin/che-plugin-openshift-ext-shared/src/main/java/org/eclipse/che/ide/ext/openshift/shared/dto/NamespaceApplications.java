@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Names of applications (build configs) of one namespace.
+ *
+ * <p>If applications of namespace can't be fetched then list of applications is empty and error is set.
+ */
+@DTO
+public interface NamespaceApplications {
+    String getNamespace();
+
+    void setNamespace(String namespace);
+
+    NamespaceApplications withNamespace(String namespace);
+
+    List<String> getApplications();
+
+    void setApplications(List<String> applications);
+
+    NamespaceApplications withApplications(List<String> applications);
+
+    String getError();
+
+    void setError(String error);
+
+    NamespaceApplications withError(String error);
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Openshift objects which are related to the build config of application.
+ *
+ * <p>Build config outputs image to image stream tag, deployment configs use image of this tag,
+ * services select pods of deployment configs and routes point to services.
+ */
+@DTO
+public interface OpenshiftApplication {
+    BuildConfig getBuildConfig();
+
+    void setBuildConfig(BuildConfig buildConfig);
+
+    OpenshiftApplication withBuildConfig(BuildConfig buildConfig);
+
+    ImageStream getOutputImageStream();
+
+    void setOutputImageStream(ImageStream outputImageStream);
+
+    OpenshiftApplication withOutputImageStream(ImageStream outputImageStream);
+
+    String getImageStreamTagReference();
+
+    void setImageStreamTagReference(String imageStreamTagReference);
+
+    OpenshiftApplication withImageStreamTagReference(String imageStreamTagReference);
+
+    List<DeploymentConfig> getDeploymentConfigs();
+
+    void setDeploymentConfigs(List<DeploymentConfig> deploymentConfigs);
+
+    OpenshiftApplication withDeploymentConfigs(List<DeploymentConfig> deploymentConfigs);
+
+    List<Service> getServices();
+
+    void setServices(List<Service> services);
+
+    OpenshiftApplication withServices(List<Service> services);
+
+    List<Route> getRoutes();
+
+    void setRoutes(List<Route> routes);
+
+    OpenshiftApplication withRoutes(List<Route> routes);
+}
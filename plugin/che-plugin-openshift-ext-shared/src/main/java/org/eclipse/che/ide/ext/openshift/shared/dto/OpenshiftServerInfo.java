@@ -22,4 +22,11 @@ public interface OpenshiftServerInfo {
     void setOpenshiftEndpoint(String openshiftEndpoint);
 
     OpenshiftServerInfo withOpenshiftEndpoint(String openshiftEndpoint);
+
+    /** Returns endpoint of kubernetes api which serves services, replication controllers, pods etc. */
+    String getKubernetesEndpoint();
+
+    void setKubernetesEndpoint(String kubernetesEndpoint);
+
+    OpenshiftServerInfo withKubernetesEndpoint(String kubernetesEndpoint);
 }
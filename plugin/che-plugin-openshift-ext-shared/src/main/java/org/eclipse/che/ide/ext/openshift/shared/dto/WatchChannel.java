@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.openshift.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Websocket channel of workspace agent to which changes of watched openshift objects are sent.
+ */
+@DTO
+public interface WatchChannel {
+    String getChannel();
+
+    void setChannel(String channel);
+
+    WatchChannel withChannel(String channel);
+}